@@ -17,29 +17,64 @@ repositories {
     mavenCentral()
 }
 
+// JMH microbenchmarks live in src/jmh/java and see the main classes and their dependencies
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[jmh.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-mail")
     implementation("org.springframework.boot:spring-boot-starter-thymeleaf")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation("org.bouncycastle:bcprov-jdk18on:1.78.1")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
     implementation("io.jsonwebtoken:jjwt-api:0.12.6")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.12.6")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.6")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.6.0")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhImplementation"("org.springframework:spring-test")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// Run JMH benchmarks with allocation profiling; results go to build/reports/jmh/results-<version>.json
+// so runs from different releases can be kept side by side and compared
+// Usage: ./gradlew jmh [-Pjmh.includes=JwtServiceBenchmark] [-Pjmh.args="-wi 1 -i 3"]
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs JMH benchmarks and writes JSON results"
+
+    dependsOn(jmh.classesTaskName)
+    mainClass.set("org.openjdk.jmh.Main")
+    classpath = jmh.runtimeClasspath
+
+    val resultFile = layout.buildDirectory.file("reports/jmh/results-${project.version}.json").get().asFile
+    val includes = providers.gradleProperty("jmh.includes").orNull
+    val extraArgs = providers.gradleProperty("jmh.args").orNull?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+    args = listOfNotNull(includes) + listOf("-rf", "json", "-rff", resultFile.path, "-prof", "gc") + extraArgs
+
+    doFirst { resultFile.parentFile.mkdirs() }
+}
+
 // Generate OpenAPI spec for frontend API client generation
 tasks.register<JavaExec>("generateOpenApiDocs") {
     group = "documentation"
@@ -0,0 +1,86 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtAuthFilter} per request: a valid bearer token, a tampered one, and no header
+ *
+ * The revocation check runs against an empty in-memory list; the DB-backed parts of
+ * {@link TokenRevocationService} are not touched on this path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean claimsCache;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest validRequest;
+    private MockHttpServletRequest tamperedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, claimsCache, 10_000, false, new SimpleMeterRegistry());
+        TokenRevocationService revocations = new TokenRevocationService(null, null, null, 900_000, 100_000, 0.01, false, 500, 10_000, 30_000);
+        filter = new JwtAuthFilter(jwtService, revocations, null);
+
+        User user = new User();
+        user.setEmail("benchmark.user@example.com");
+        String token = jwtService.generateAccessToken(user);
+
+        validRequest = request("Bearer " + token);
+        tamperedRequest = request("Bearer " + token.substring(0, token.length() - 2) + "xx");
+        anonymousRequest = request(null);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication validToken() throws Exception {
+        return run(validRequest);
+    }
+
+    @Benchmark
+    public Authentication tamperedToken() throws Exception {
+        return run(tamperedRequest);
+    }
+
+    @Benchmark
+    public Authentication noHeader() throws Exception {
+        return run(anonymousRequest);
+    }
+
+    private Authentication run(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Each request starts unauthenticated, as it would on a fresh servlet thread
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * jjwt builder/parser vs {@link FixedSchemaJwtCodec} for our access tokens
+ *
+ * Both sides go through {@link JwtService} with the claims cache off, so the numbers are the
+ * full cost of one sign or one verify. Run with {@code -prof gc} (the jmh task default) to
+ * compare gc.alloc.rate.norm, the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    private JwtService jjwt;
+    private JwtService codec;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jjwt = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, false, 1, false, new SimpleMeterRegistry());
+        codec = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, false, 1, true, new SimpleMeterRegistry());
+        user = new User();
+        user.setEmail("benchmark.user@example.com");
+        token = jjwt.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String signJjwt() {
+        return jjwt.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String signCodec() {
+        return codec.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public ParsedToken verifyJjwt() {
+        return jjwt.parse(token);
+    }
+
+    @Benchmark
+    public ParsedToken verifyCodec() {
+        return codec.parse(token);
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} token issue and verification per signing algorithm
+ *
+ * With the claims cache on, {@code parse} measures the cache-hit path that
+ * {@link JwtAuthFilter} sees for a returning client; with it off, a full signature check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    @Param({"HMAC", "ES256", "EDDSA"})
+    private JwtKeyRing.Algorithm algorithm;
+
+    @Param({"true", "false"})
+    private boolean claimsCache;
+
+    private JwtService jwtService;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = algorithm == JwtKeyRing.Algorithm.HMAC
+                ? JwtKeyRing.hmac(SECRET)
+                : JwtKeyRing.of(algorithm, Map.of("bench", JwtKeyRing.generateKeyPair(algorithm)), "bench");
+        jwtService = new JwtService(keyRing, 900_000, 604_800_000, claimsCache, 10_000, false, new SimpleMeterRegistry());
+        user = new User();
+        user.setEmail("benchmark.user@example.com");
+        accessToken = jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public ParsedToken parse() {
+        return jwtService.parse(accessToken);
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.boilerplate.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoginThrottle} under concurrent load spread over many distinct emails and IPs
+ *
+ * Keys are pre-generated; each call picks one at random, so most calls hit an existing
+ * bucket and some create a new one, as in a credential-stuffing run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LoginThrottleBenchmark {
+
+    @Param({"1000", "500000"})
+    private int distinctKeys;
+
+    private LoginThrottle throttle;
+    private String[] emails;
+    private String[] ips;
+
+    @Setup
+    public void setUp() {
+        throttle = new LoginThrottle(new SimpleMeterRegistry(), true, 5, 5, 30, 30);
+        emails = new String[distinctKeys];
+        ips = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            emails[i] = "user" + i + "@example.com";
+            ips[i] = "10." + (i >> 16 & 0xff) + "." + (i >> 8 & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        int i = ThreadLocalRandom.current().nextInt(distinctKeys);
+        return throttle.tryAcquire(emails[i], ips[i]);
+    }
+}
@@ -0,0 +1,77 @@
+package com.app.boilerplate.common.filter;
+
+import com.app.boilerplate.common.latency.RouteLatencyRecorder;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RequestLoggingFilter} around a handler that writes a JSON body (small, or 1 MB in
+ * 8 KB writes like a streamed export)
+ *
+ * {@code baseline} runs the same handler without the filter, so the difference is the
+ * filter's own cost, which should not depend on the body size. Log output is discarded
+ * (see src/jmh/resources/logback.xml) but the INFO line is still formatted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingFilterBenchmark {
+
+    private static final byte[] BODY = ("{\"id\":1,\"email\":\"benchmark.user@example.com\",\"name\":\"Benchmark User\","
+            + "\"createdAt\":\"2026-01-01T00:00:00Z\"}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHUNK = new byte[8192];
+
+    @Param({"small", "1mb"})
+    private String body;
+
+    private FilterChain handler;
+
+    private RequestLoggingFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new RequestLoggingFilter(new RouteLatencyRecorder(60_000, 2, false), 1.0, List.of(), 500, 1024);
+        handler = body.equals("small")
+                ? (request, response) -> {
+                    response.setContentType("application/json");
+                    response.getOutputStream().write(BODY);
+                }
+                : (request, response) -> {
+                    response.setContentType("application/x-ndjson");
+                    for (int i = 0; i < 128; i++) {
+                        response.getOutputStream().write(CHUNK);
+                    }
+                };
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.doFilter(request(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtered() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, handler);
+        return response;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setQueryString("include=profile");
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+}
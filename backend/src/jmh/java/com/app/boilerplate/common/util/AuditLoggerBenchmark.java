@@ -0,0 +1,75 @@
+package com.app.boilerplate.common.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link AuditLogger#log} on the calling thread
+ *
+ * {@code synchronousLogger} is the previous implementation's per-event logger call; here its
+ * output is discarded (src/jmh/resources/logback.xml), so it leaves out the file write that
+ * the audit appender did on the request thread. {@code ringBuffer} writes batches to a
+ * discarding sink on the writer thread; it uses BLOCK so a writer that falls behind shows up
+ * as producer time rather than as dropped events.
+ *
+ * Each operation also burns a fixed amount of CPU standing in for the rest of the request
+ * (an audit event per ~2 us of work rather than back-to-back), so one writer can keep up;
+ * subtract {@code work} to get the audit cost. The writer needs a core of its own: on a
+ * single-CPU machine its formatting is charged to the benchmark thread as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditLoggerBenchmark {
+
+    private static final Logger audit = LoggerFactory.getLogger("audit");
+    private static final long WORK_TOKENS = 500;
+
+    private AuditLogger auditLogger;
+
+    @Setup
+    public void setUp() {
+        auditLogger = new AuditLogger(new SimpleMeterRegistry(), 8192, 256, AuditLogger.FullPolicy.BLOCK, lines -> { });
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditLogger.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void work() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void ringBuffer() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+        auditLogger.log("AUTH_SUCCESS", "42", Map.of("method", "credentials"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void ringBufferContended() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+        auditLogger.log("AUTH_SUCCESS", "42", Map.of("method", "credentials"));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void synchronousLogger() {
+        Blackhole.consumeCPU(WORK_TOKENS);
+        audit.info("[AUDIT] {} | User: {} | Details: {}", "AUTH_SUCCESS", "42", Map.of("method", "credentials"));
+    }
+}
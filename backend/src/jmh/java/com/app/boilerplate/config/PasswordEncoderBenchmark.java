@@ -0,0 +1,56 @@
+package com.app.boilerplate.config;
+
+import com.app.boilerplate.auth.PasswordEncoderFactory;
+import com.app.boilerplate.auth.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link SecurityConfig#passwordEncoder} bean per algorithm at its minimum cost
+ * (calibration off), on the hashing pool
+ *
+ * {@code encode} is paid on registration and password change, {@code matches} on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct-horse-battery-staple";
+
+    @Param({"BCRYPT", "ARGON2ID"})
+    private PasswordEncoderFactory.Algorithm algorithm;
+
+    private PasswordHashingExecutor executor;
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        executor = new PasswordHashingExecutor(new SimpleMeterRegistry(), 0, 64, 2_000, 0);
+        PasswordEncoderFactory factory = new PasswordEncoderFactory(algorithm, false, 250, 12, 19_456, 2);
+        passwordEncoder = new SecurityConfig(null).passwordEncoder(factory, executor);
+        hash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.boilerplate.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test: {@value #CONCURRENT_REQUESTS} concurrent requests against embedded Tomcat with its
+ * default 200 platform threads vs spring.threads.virtual.enabled (Boot's own customizer)
+ *
+ * Handlers:
+ * - {@code wait}: blocks {@value #WAIT_MS}ms with nothing else bounding it (a remote call);
+ *   platform threads serve it in two waves, virtual threads in one
+ * - {@code pool}: a {@value #POOL_SIZE}-permit pool around a {@value #QUERY_MS}ms wait (JDBC
+ *   through Hikari's default pool); both modes are capped by the pool, so raising
+ *   maximum-pool-size, not the thread model, is what helps DB-bound routes
+ *
+ * Time per batch of requests (lower is better). With few cores the per-request CPU of HTTP
+ * handling dominates both modes, and virtual mode allocates more per request (a blocked
+ * handler's stack is copied to the heap), so compare runs on production-sized hardware.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final long WAIT_MS = 100;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MS = 2;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"wait", "pool"})
+    private String handler;
+
+    private WebServer server;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        if ("virtual".equals(threads)) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        Semaphore pool = new Semaphore(POOL_SIZE, true);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                try {
+                    if ("pool".equals(handler)) {
+                        pool.acquire();
+                        try {
+                            Thread.sleep(QUERY_MS);
+                        } finally {
+                            pool.release();
+                        }
+                    } else {
+                        Thread.sleep(WAIT_MS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"ok\":true}");
+            }
+        };
+        server = factory.getWebServer(context -> context.addServlet("load", servlet).addMapping("/load"));
+        server.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/load")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int batch() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
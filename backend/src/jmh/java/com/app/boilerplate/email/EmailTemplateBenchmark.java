@@ -0,0 +1,104 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email messages per second, per template
+ *
+ * - thymeleafRender / compiledRender: template to HTML only (Thymeleaf process vs EmailTemplateRenderer)
+ * - helperMessage / compiledMessage: render plus a complete MIME message written out, the way
+ *   the SMTP transport would (MimeMessageHelper multipart + String body vs EmailService.buildMessage)
+ *
+ * Run with: ./gradlew jmh -Pjmh.includes=EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    @Param({"email/welcome", "email/password-reset", "email/verify-email"})
+    private String template;
+
+    private SpringTemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+    private EmailService emailService;
+    private JavaMailSenderImpl mailSender;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine, 200);
+        renderer.warmUp();
+        mailSender = new JavaMailSenderImpl();
+        emailService = new EmailService(mailSender, renderer, new SimpleMeterRegistry(), "", "noreply@example.com", "8bit");
+
+        model = new HashMap<>();
+        model.put("name", "Zoë Example");
+        model.put("appUrl", "https://app.example.com");
+        model.put("resetUrl", "https://app.example.com/reset-password?token=3f6c1a9e-2b7d-4c1e-9a51-0e8d2f4b6c7a");
+        model.put("verifyUrl", "https://app.example.com/verify-email?token=3f6c1a9e-2b7d-4c1e-9a51-0e8d2f4b6c7a");
+        model.put("expiresIn", "1 hour");
+    }
+
+    @Benchmark
+    public String thymeleafRender() {
+        Map<String, Object> variables = new HashMap<>(model);
+        variables.put("year", Year.now().getValue());
+        return templateEngine.process(template, new Context(Locale.getDefault(), variables));
+    }
+
+    @Benchmark
+    public byte[] compiledRender() {
+        return renderer.render(template, model);
+    }
+
+    @Benchmark
+    public MimeMessage helperMessage() throws MessagingException, IOException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom("noreply@example.com");
+        helper.setTo("user@example.com");
+        helper.setSubject("Welcome");
+        helper.setText(thymeleafRender(), true);
+        return written(message);
+    }
+
+    @Benchmark
+    public MimeMessage compiledMessage() throws MessagingException, IOException {
+        return written(emailService.buildMessage("user@example.com", "Welcome", compiledRender()));
+    }
+
+    private static MimeMessage written(MimeMessage message) throws MessagingException, IOException {
+        message.saveChanges();
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+}
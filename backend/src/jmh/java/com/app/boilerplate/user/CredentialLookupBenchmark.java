@@ -0,0 +1,133 @@
+package com.app.boilerplate.user;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login lookup: managed User entity vs the UserCredentials projection
+ *
+ * - entity: findByEmail as login used it (read-write transaction, hydrated and snapshotted
+ *   entity, dirty-checked at commit)
+ * - credentials: findCredentialsByEmail (read-only session, constructor expression)
+ *
+ * Each op is one session + transaction, like one login request. Compare time per op and
+ * gc.alloc.rate.norm. Needs a scratch Postgres database: set JMH_DATABASE_URL (and
+ * JMH_DATABASE_USER / JMH_DATABASE_PASSWORD). The table is created in schema jmh_credentials
+ * and dropped at the end. Run with: ./gradlew jmh -Pjmh.includes=CredentialLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CredentialLookupBenchmark {
+
+    private static final String SCHEMA = "jmh_credentials";
+
+    // Same queries as UserRepository.findByEmail / findCredentialsByEmail
+    private static final String ENTITY_QUERY = "SELECT u FROM User u WHERE lower(u.email) = lower(:email)";
+    private static final String CREDENTIALS_QUERY = "SELECT new com.app.boilerplate.user.UserCredentials(u.id, u.email, u.passwordHash) "
+            + "FROM User u WHERE lower(u.email) = lower(:email)";
+
+    @Param({"100000"})
+    private int rows;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url(), user(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            statement.execute("DROP TABLE IF EXISTS " + SCHEMA + ".users");
+            statement.execute("CREATE TABLE " + SCHEMA + ".users (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL, password_hash VARCHAR(255) NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO " + SCHEMA + ".users (name, email, password_hash) "
+                    + "SELECT 'User ' || g, 'user' || g || '@example.com', "
+                    + "'$2a$12$abcdefghijklmnopqrstuuM0p6Ym2JmV6bq6Qe4dPYEc1OzCNtgeW' FROM generate_series(1, " + rows + ") g");
+            statement.execute("CREATE UNIQUE INDEX ON " + SCHEMA + ".users (lower(email))");
+            statement.execute("VACUUM ANALYZE " + SCHEMA + ".users");
+        }
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, url())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, user())
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, password())
+                .applySetting(AvailableSettings.DEFAULT_SCHEMA, SCHEMA)
+                .applySetting(AvailableSettings.POOL_SIZE, "4")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        try (Connection connection = DriverManager.getConnection(url(), user(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + SCHEMA + ".users");
+        }
+    }
+
+    @Benchmark
+    public Long entity() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction tx = session.beginTransaction();
+            User user = session.createSelectionQuery(ENTITY_QUERY, User.class)
+                    .setParameter("email", randomEmail())
+                    .uniqueResult();
+            tx.commit();
+            return user != null ? user.getId() : null;
+        }
+    }
+
+    @Benchmark
+    public Long credentials() {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            Transaction tx = session.beginTransaction();
+            UserCredentials credentials = session.createSelectionQuery(CREDENTIALS_QUERY, UserCredentials.class)
+                    .setParameter("email", randomEmail())
+                    .uniqueResult();
+            tx.commit();
+            return credentials != null ? credentials.id() : null;
+        }
+    }
+
+    private String randomEmail() {
+        return "user" + ThreadLocalRandom.current().nextInt(1, rows + 1) + "@example.com";
+    }
+
+    private static String url() {
+        String url = System.getenv("JMH_DATABASE_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set JMH_DATABASE_URL to a scratch Postgres database to run this benchmark");
+        }
+        return url;
+    }
+
+    private static String user() {
+        return System.getenv().getOrDefault("JMH_DATABASE_USER", "postgres");
+    }
+
+    private static String password() {
+        return System.getenv().getOrDefault("JMH_DATABASE_PASSWORD", "postgres");
+    }
+}
@@ -0,0 +1,126 @@
+package com.app.boilerplate.user;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Users email index layout before and after V5, on a multi-million-row table
+ *
+ * - before: email UNIQUE plus idx_users_email (two identical B-trees), case-sensitive lookup
+ * - after: one unique index on lower(email), lookup by lower(email) = lower(?)
+ *
+ * Needs a scratch Postgres database: set JMH_DATABASE_URL (and JMH_DATABASE_USER /
+ * JMH_DATABASE_PASSWORD). Tables are created in schema jmh_email_index and dropped at the end.
+ * Run with: ./gradlew jmh -Pjmh.includes=EmailIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmailIndexBenchmark {
+
+    private static final String SCHEMA = "jmh_email_index";
+
+    @Param({"before", "after"})
+    private String layout;
+
+    @Param({"2000000"})
+    private int rows;
+
+    private final AtomicLong insertSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+            statement.execute("DROP TABLE IF EXISTS " + table());
+            statement.execute("CREATE TABLE " + table() + " (id BIGSERIAL PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL, password_hash VARCHAR(255) NOT NULL, "
+                    + "created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP)");
+            statement.execute("INSERT INTO " + table() + " (name, email, password_hash) "
+                    + "SELECT 'User ' || g, 'user' || g || '@example.com', 'hash' FROM generate_series(1, " + rows + ") g");
+            if (layout.equals("before")) {
+                statement.execute("ALTER TABLE " + table() + " ADD CONSTRAINT " + layout + "_email_key UNIQUE (email)");
+                statement.execute("CREATE INDEX " + layout + "_idx_email ON " + table() + " (email)");
+            } else {
+                statement.execute("CREATE UNIQUE INDEX " + layout + "_email_lower_key ON " + table() + " (lower(email))");
+            }
+            statement.execute("VACUUM ANALYZE " + table());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table());
+        }
+    }
+
+    /**
+     * One connection and prepared statements per benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        Connection connection;
+        PreparedStatement lookup;
+        PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void open(EmailIndexBenchmark benchmark) throws SQLException {
+            connection = connect();
+            String table = benchmark.table();
+            lookup = connection.prepareStatement(benchmark.layout.equals("before")
+                    ? "SELECT id, password_hash FROM " + table + " WHERE email = ?"
+                    : "SELECT id, password_hash FROM " + table + " WHERE lower(email) = lower(?)");
+            insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (name, email, password_hash) VALUES (?, ?, 'hash')");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public long lookupByEmail(Session session) throws SQLException {
+        long n = 1 + (System.nanoTime() & Long.MAX_VALUE) % rows;
+        session.lookup.setString(1, "user" + n + "@example.com");
+        try (ResultSet resultSet = session.lookup.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        }
+    }
+
+    @Benchmark
+    public int insertUser(Session session) throws SQLException {
+        long n = insertSequence.incrementAndGet();
+        session.insert.setString(1, "Inserted " + n);
+        session.insert.setString(2, "inserted" + n + "@example.com");
+        return session.insert.executeUpdate();
+    }
+
+    String table() {
+        return SCHEMA + ".users_" + layout;
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = System.getenv("JMH_DATABASE_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set JMH_DATABASE_URL to a scratch Postgres database to run this benchmark");
+        }
+        return DriverManager.getConnection(url,
+                System.getenv().getOrDefault("JMH_DATABASE_USER", "postgres"),
+                System.getenv().getOrDefault("JMH_DATABASE_PASSWORD", "postgres"));
+    }
+}
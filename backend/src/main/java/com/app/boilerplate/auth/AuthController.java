@@ -3,7 +3,7 @@ package com.app.boilerplate.auth;
 /**
  * Authentication Controller
  *
- * Handles user authentication operations including login, registration, and JWT token refresh.
+ * Handles user authentication operations including login, registration, JWT token refresh and logout.
  * All endpoints return standardized error responses using {@link com.app.boilerplate.common.dto.ErrorResponse}.
  *
  * @see com.app.boilerplate.auth.JwtService
@@ -11,73 +11,89 @@ package com.app.boilerplate.auth;
  */
 
 import com.app.boilerplate.auth.dto.LoginRequest;
+import com.app.boilerplate.auth.dto.LogoutRequest;
 import com.app.boilerplate.auth.dto.RefreshRequest;
 import com.app.boilerplate.auth.dto.RegisterRequest;
 import com.app.boilerplate.auth.dto.TokenResponse;
 import com.app.boilerplate.common.dto.ErrorResponse;
 import com.app.boilerplate.common.util.AuditLogger;
-import com.app.boilerplate.email.EmailService;
 import com.app.boilerplate.user.User;
+import com.app.boilerplate.user.UserCredentials;
 import com.app.boilerplate.user.UserService;
-import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final UserService userService;
     private final JwtService jwtService;
-    private final EmailService emailService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private final AuditLogger auditLogger;
-
-    @Value("${app.url:http://localhost:5173}")
-    private String appUrl;
+    private final LoginThrottle loginThrottle;
 
     public AuthController(UserService userService,
                           JwtService jwtService,
-                          EmailService emailService,
-                          AuditLogger auditLogger) {
+                          RefreshTokenService refreshTokenService,
+                          TokenRevocationService tokenRevocationService,
+                          AuditLogger auditLogger,
+                          LoginThrottle loginThrottle) {
         this.userService = userService;
         this.jwtService = jwtService;
-        this.emailService = emailService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
         this.auditLogger = auditLogger;
+        this.loginThrottle = loginThrottle;
     }
 
     /**
      * Refresh access token using a valid refresh token
      *
+     * Refresh tokens are single-use: the presented token is consumed and a new one returned.
+     * Replaying an already-used token revokes every token from the same login.
+     *
      * @param request Contains the refresh token to validate
      * @return TokenResponse with new access and refresh tokens, or error response
      */
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest request) {
-        String token = request.getRefreshToken();
-        if (token == null || !jwtService.isTokenValid(token) || !jwtService.isRefreshToken(token)) {
-            auditLogger.log("TOKEN_REFRESH_INVALID", null);
+        ParsedToken parsed = jwtService.parse(request.getRefreshToken());
+        if (!parsed.isRefreshToken()) {
+            String reason = parsed.isValid() ? "wrong_token_type" : parsed.failure().name().toLowerCase();
+            auditLogger.log("TOKEN_REFRESH_INVALID", null, Map.of("reason", reason));
             return ResponseEntity.status(401)
                     .body(new ErrorResponse("Invalid refresh token", "UNAUTHORIZED"));
         }
-        String email = jwtService.extractEmail(token);
-        User user = userService.findByEmail(email).orElse(null);
+        UserCredentials user = userService.findCredentials(parsed.subject()).orElse(null);
         if (user == null) {
             auditLogger.log("TOKEN_REFRESH_USER_NOT_FOUND", null);
             return ResponseEntity.status(401)
                     .body(new ErrorResponse("User not found", "UNAUTHORIZED"));
         }
-        String access = jwtService.generateAccessToken(user);
-        String refresh = jwtService.generateRefreshToken(user);
-        auditLogger.logTokenRefresh(user.getId().toString());
+        String refresh = refreshTokenService.rotate(parsed, user);
+        if (refresh == null) {
+            auditLogger.log("TOKEN_REFRESH_REVOKED", user.id().toString());
+            return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Invalid refresh token", "UNAUTHORIZED"));
+        }
+        String access = jwtService.generateAccessToken(user.email());
+        auditLogger.logTokenRefresh(user.id().toString());
         return ResponseEntity.ok(new TokenResponse(access, refresh));
     }
 
     /**
      * Register a new user account
      *
-     * Creates a new user, sends a welcome email, and returns JWT tokens for immediate authentication.
+     * Creates a new user, queues a welcome email (sent in the background, see EmailOutbox), and
+     * returns JWT tokens for immediate authentication.
      *
      * @param request Contains name, email, and password for the new user
      * @return TokenResponse with access and refresh tokens, or error if email already exists
@@ -91,14 +107,8 @@ public class AuthController {
                     request.getPassword()
             );
 
-            try {
-                emailService.sendWelcome(user.getEmail(), user.getName(), appUrl);
-            } catch (MessagingException ignored) {
-                // Log in production; do not fail registration
-            }
-
             String access = jwtService.generateAccessToken(user);
-            String refresh = jwtService.generateRefreshToken(user);
+            String refresh = refreshTokenService.issue(user);
             return ResponseEntity.ok(new TokenResponse(access, refresh));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
@@ -110,14 +120,23 @@ public class AuthController {
      * Authenticate user with email and password
      *
      * Validates credentials and returns JWT tokens for authenticated session.
-     * Logs all authentication attempts for audit purposes.
+     * Logs all authentication attempts for audit purposes. Attempts over the per-email or
+     * per-IP limit are refused before the user lookup and password check.
      *
      * @param request Contains email and password
-     * @return TokenResponse with access and refresh tokens, or 401 error for invalid credentials
+     * @param httpRequest Used for the client address
+     * @return TokenResponse with access and refresh tokens, 401 for invalid credentials, or 429 when throttled
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        User user = userService.findByEmail(request.getEmail()).orElse(null);
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        long retryAfter = loginThrottle.tryAcquire(request.getEmail(), httpRequest.getRemoteAddr());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new ErrorResponse("Too many login attempts. Please try again later.", "RATE_LIMIT_EXCEEDED"));
+        }
+
+        UserCredentials user = userService.findCredentials(request.getEmail()).orElse(null);
 
         if (user == null || !userService.validatePassword(user, request.getPassword())) {
             auditLogger.logAuthFailure(request.getEmail(), user == null ? "user_not_found" : "invalid_password");
@@ -125,10 +144,74 @@ public class AuthController {
                     .body(new ErrorResponse("Invalid email or password", "INVALID_CREDENTIALS"));
         }
 
-        auditLogger.logAuthSuccess(user.getId().toString(), "credentials");
+        auditLogger.logAuthSuccess(user.id().toString(), "credentials");
 
-        String access = jwtService.generateAccessToken(user);
-        String refresh = jwtService.generateRefreshToken(user);
+        String access = jwtService.generateAccessToken(user.email());
+        String refresh = refreshTokenService.issue(user);
         return ResponseEntity.ok(new TokenResponse(access, refresh));
     }
+
+    /**
+     * Log out the current session
+     *
+     * Revokes the presented access token on every node. If the refresh token is supplied,
+     * every refresh token descending from the same login is revoked as well.
+     *
+     * @param authentication Set by JwtAuthFilter from the Bearer access token
+     * @param request Optional refresh token to revoke
+     * @return 204 on success, or 401 without a valid access token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(Authentication authentication,
+                                    @RequestBody(required = false) LogoutRequest request) {
+        ParsedToken access = currentToken(authentication);
+        if (access == null) {
+            return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Authentication required", "UNAUTHORIZED"));
+        }
+        Long userId = userService.findByEmail(access.subject()).map(User::getId).orElse(null);
+
+        tokenRevocationService.revokeToken(access);
+        if (request != null && request.getRefreshToken() != null) {
+            ParsedToken refresh = jwtService.parse(request.getRefreshToken());
+            if (refresh.isRefreshToken() && access.subject().equals(refresh.subject())) {
+                refreshTokenService.revoke(refresh, userId);
+            }
+        }
+
+        auditLogger.logLogout(userId != null ? userId.toString() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Log out every session of the current user
+     *
+     * Revokes all access tokens issued so far on every node and deletes all refresh tokens.
+     *
+     * @param authentication Set by JwtAuthFilter from the Bearer access token
+     * @return 204 on success, or 401 without a valid access token
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(Authentication authentication) {
+        ParsedToken access = currentToken(authentication);
+        if (access == null) {
+            return ResponseEntity.status(401)
+                    .body(new ErrorResponse("Authentication required", "UNAUTHORIZED"));
+        }
+        tokenRevocationService.revokeAllForSubject(access.subject());
+
+        User user = userService.findByEmail(access.subject()).orElse(null);
+        if (user != null) {
+            refreshTokenService.revokeAllForUser(user.getId());
+        }
+        auditLogger.log("USER_LOGOUT_ALL", user != null ? user.getId().toString() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ParsedToken currentToken(Authentication authentication) {
+        if (authentication != null && authentication.getCredentials() instanceof ParsedToken parsed) {
+            return parsed;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,506 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.common.util.ThreadScratch;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Allocation-lean HMAC codec for the tokens {@link JwtService} issues itself
+ *
+ * Our tokens always have the same shape: header {@code {"alg":"HSxxx"}} and the claims
+ * jti, sub, type, optional fam, iat, exp in that order. This codec writes and reads exactly
+ * that shape, byte-for-byte identical to jjwt's output, without the generic builder/parser:
+ * - the header segment is encoded once up front
+ * - each thread keeps its own initialized {@link Mac} and scratch buffers ({@link ThreadScratch})
+ * - Base64URL is encoded and decoded directly into those buffers
+ * - claims are read by a small hand-written reader instead of Jackson
+ *
+ * {@link #decode} returns null for anything outside this shape (other header, unknown
+ * claim, nested JSON), and the caller falls back to jjwt.
+ */
+final class FixedSchemaJwtCodec {
+
+    private static final byte[] B64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final int[] B64_INVERSE = new int[128];
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        Arrays.fill(B64_INVERSE, -1);
+        for (int i = 0; i < B64.length; i++) {
+            B64_INVERSE[B64[i]] = i;
+        }
+    }
+
+    private final SecretKey key;
+    private final String macAlgorithm;
+    private final int macLength;
+    private final String headerSegment;
+    private final byte[] headerPrefix;
+    private final ThreadScratch<Scratch> scratch;
+
+    FixedSchemaJwtCodec(SecretKey key) {
+        this.key = key;
+        this.macAlgorithm = key.getAlgorithm();
+        String alg = switch (macAlgorithm) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Unsupported HMAC key algorithm: " + macAlgorithm);
+        };
+        byte[] header = ("{\"alg\":\"" + alg + "\"}").getBytes(StandardCharsets.US_ASCII);
+        byte[] encoded = new byte[encodedLength(header.length)];
+        int length = encode(header, 0, header.length, encoded, 0);
+        this.headerSegment = new String(encoded, 0, length, StandardCharsets.US_ASCII);
+        this.headerPrefix = (headerSegment + ".").getBytes(StandardCharsets.US_ASCII);
+        this.macLength = newMac().getMacLength();
+        this.scratch = new ThreadScratch<>(() -> new Scratch(newMac(), macLength));
+    }
+
+    /**
+     * Encode and sign a token
+     *
+     * @param family Refresh token family, or null to omit the fam claim
+     */
+    String encode(String jti, String subject, String type, String family, long issuedAtSec, long expiresAtSec) {
+        Scratch s = scratch.acquire();
+        try {
+            return encode(s, jti, subject, type, family, issuedAtSec, expiresAtSec);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private String encode(Scratch s, String jti, String subject, String type, String family,
+                          long issuedAtSec, long expiresAtSec) {
+        // Payload JSON, in jjwt's claim order
+        s.json = ensure(s.json, 128 + 6 * (jti.length() + subject.length() + type.length()
+                + (family != null ? family.length() : 0)));
+        int p = 0;
+        p = ascii(s.json, p, "{\"jti\":\"");
+        p = jsonString(s.json, p, jti);
+        p = ascii(s.json, p, "\",\"sub\":\"");
+        p = jsonString(s.json, p, subject);
+        p = ascii(s.json, p, "\",\"type\":\"");
+        p = jsonString(s.json, p, type);
+        if (family != null) {
+            p = ascii(s.json, p, "\",\"fam\":\"");
+            p = jsonString(s.json, p, family);
+        }
+        p = ascii(s.json, p, "\",\"iat\":");
+        p = decimal(s.json, p, issuedAtSec);
+        p = ascii(s.json, p, ",\"exp\":");
+        p = decimal(s.json, p, expiresAtSec);
+        s.json[p++] = '}';
+
+        // header.payload.signature
+        s.out = ensure(s.out, headerPrefix.length + encodedLength(p) + 1 + encodedLength(macLength));
+        System.arraycopy(headerPrefix, 0, s.out, 0, headerPrefix.length);
+        int o = encode(s.json, 0, p, s.out, headerPrefix.length);
+        try {
+            s.mac.update(s.out, 0, o);
+            s.mac.doFinal(s.sig, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        s.out[o++] = '.';
+        o = encode(s.sig, 0, macLength, s.out, o);
+        return new String(s.out, 0, o, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verify and read a token
+     *
+     * @param nowMs Current time, for the expiry check
+     * @return Verification result, or null if the token is not in this codec's shape
+     */
+    ParsedToken decode(String token, long nowMs) {
+        int headerLength = headerSegment.length();
+        if (token.length() <= headerLength || token.charAt(headerLength) != '.'
+                || !token.regionMatches(0, headerSegment, 0, headerLength)) {
+            return null;
+        }
+        int payloadStart = headerLength + 1;
+        int secondDot = token.indexOf('.', payloadStart);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.MALFORMED);
+        }
+        Scratch s = scratch.acquire();
+        try {
+            return verify(s, token, payloadStart, secondDot, nowMs);
+        } finally {
+            scratch.release(s);
+        }
+    }
+
+    private ParsedToken verify(Scratch s, String token, int payloadStart, int secondDot, long nowMs) {
+        // Signature over the ASCII bytes of header.payload
+        s.out = ensure(s.out, secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return ParsedToken.invalid(ParsedToken.FailureReason.MALFORMED);
+            }
+            s.out[i] = (byte) c;
+        }
+        try {
+            s.mac.update(s.out, 0, secondDot);
+            s.mac.doFinal(s.sig, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        int sigLength = decode(token, secondDot + 1, token.length(), s.presented);
+        if (sigLength < 0) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.MALFORMED);
+        }
+        if (sigLength != macLength || !constantTimeEquals(s.sig, s.presented, macLength)) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.INVALID_SIGNATURE);
+        }
+
+        // Claims
+        s.json = ensure(s.json, (secondDot - payloadStart) * 3 / 4 + 3);
+        int jsonLength = decode(token, payloadStart, secondDot, s.json);
+        if (jsonLength < 0) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.MALFORMED);
+        }
+        ClaimReader claims = new ClaimReader(s.json, jsonLength);
+        if (!claims.read()) {
+            return null;
+        }
+        if (claims.exp >= 0 && nowMs > claims.exp * 1000) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.EXPIRED);
+        }
+        return ParsedToken.valid(claims.sub, claims.type, claims.jti, claims.fam,
+                claims.iat >= 0 ? Instant.ofEpochSecond(claims.iat) : null,
+                claims.exp >= 0 ? Instant.ofEpochSecond(claims.exp) : null);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + macAlgorithm, e);
+        }
+    }
+
+    private static boolean constantTimeEquals(byte[] a, byte[] b, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    private static byte[] ensure(byte[] buffer, int size) {
+        return buffer.length >= size ? buffer : new byte[Math.max(size, buffer.length * 2)];
+    }
+
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Unpadded Base64URL encode of {@code src[from, to)} into {@code dst} at {@code offset}
+     *
+     * @return Offset just past the last written byte
+     */
+    private static int encode(byte[] src, int from, int to, byte[] dst, int offset) {
+        int i = from;
+        int o = offset;
+        for (; i + 2 < to; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[o++] = B64[bits >>> 18];
+            dst[o++] = B64[(bits >>> 12) & 0x3f];
+            dst[o++] = B64[(bits >>> 6) & 0x3f];
+            dst[o++] = B64[bits & 0x3f];
+        }
+        int remaining = to - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[o++] = B64[bits >>> 18];
+            dst[o++] = B64[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[o++] = B64[bits >>> 18];
+            dst[o++] = B64[(bits >>> 12) & 0x3f];
+            dst[o++] = B64[(bits >>> 6) & 0x3f];
+        }
+        return o;
+    }
+
+    /**
+     * Unpadded Base64URL decode of {@code src[from, to)} into {@code dst}
+     *
+     * @return Number of decoded bytes, or -1 on an invalid character, length or buffer overflow
+     */
+    private static int decode(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1 || (length * 3) / 4 > dst.length) {
+            return -1;
+        }
+        int o = 0;
+        int bits = 0;
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? B64_INVERSE[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                dst[o++] = (byte) (bits >>> 16);
+                dst[o++] = (byte) (bits >>> 8);
+                dst[o++] = (byte) bits;
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count == 2) {
+            dst[o++] = (byte) (bits >>> 4);
+        } else if (count == 3) {
+            dst[o++] = (byte) (bits >>> 10);
+            dst[o++] = (byte) (bits >>> 2);
+        }
+        return o;
+    }
+
+    private static int ascii(byte[] dst, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            dst[offset++] = (byte) value.charAt(i);
+        }
+        return offset;
+    }
+
+    private static int decimal(byte[] dst, int offset, long value) {
+        if (value < 0) {
+            dst[offset++] = '-';
+            value = -value;
+        }
+        int start = offset;
+        do {
+            dst[offset++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        for (int i = start, j = offset - 1; i < j; i++, j--) {
+            byte tmp = dst[i];
+            dst[i] = dst[j];
+            dst[j] = tmp;
+        }
+        return offset;
+    }
+
+    /**
+     * UTF-8 JSON string body with Jackson's default escaping
+     */
+    private static int jsonString(byte[] dst, int offset, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                dst[offset++] = '\\';
+                dst[offset++] = (byte) c;
+            } else if (c < 0x20) {
+                dst[offset++] = '\\';
+                switch (c) {
+                    case '\b' -> dst[offset++] = 'b';
+                    case '\t' -> dst[offset++] = 't';
+                    case '\n' -> dst[offset++] = 'n';
+                    case '\f' -> dst[offset++] = 'f';
+                    case '\r' -> dst[offset++] = 'r';
+                    default -> {
+                        dst[offset++] = 'u';
+                        dst[offset++] = '0';
+                        dst[offset++] = '0';
+                        dst[offset++] = HEX[c >> 4];
+                        dst[offset++] = HEX[c & 0xf];
+                    }
+                }
+            } else if (c < 0x80) {
+                dst[offset++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[offset++] = (byte) (0xc0 | c >> 6);
+                dst[offset++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // Jackson escapes surrogate pairs rather than emitting 4-byte UTF-8
+                dst[offset++] = '\\';
+                dst[offset++] = 'u';
+                dst[offset++] = HEX[c >> 12];
+                dst[offset++] = HEX[(c >> 8) & 0xf];
+                dst[offset++] = HEX[(c >> 4) & 0xf];
+                dst[offset++] = HEX[c & 0xf];
+            } else {
+                dst[offset++] = (byte) (0xe0 | c >> 12);
+                dst[offset++] = (byte) (0x80 | (c >> 6) & 0x3f);
+                dst[offset++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return offset;
+    }
+
+    private static final class Scratch {
+        final Mac mac;
+        final byte[] sig;
+        final byte[] presented;
+        byte[] json = new byte[256];
+        byte[] out = new byte[512];
+
+        Scratch(Mac mac, int macLength) {
+            this.mac = mac;
+            this.sig = new byte[macLength];
+            this.presented = new byte[macLength + 3];
+        }
+    }
+
+    /**
+     * Reader for a flat JSON object of string and integer values with known keys
+     */
+    private static final class ClaimReader {
+        private final byte[] json;
+        private final int end;
+        private int pos;
+
+        String jti;
+        String sub;
+        String type;
+        String fam;
+        long iat = -1;
+        long exp = -1;
+
+        ClaimReader(byte[] json, int end) {
+            this.json = json;
+            this.end = end;
+        }
+
+        /**
+         * @return false if the payload is not a flat object of known claims
+         */
+        boolean read() {
+            if (!expect('{')) {
+                return false;
+            }
+            if (peek() == '}') {
+                pos++;
+                return pos == end;
+            }
+            do {
+                String name = readString();
+                if (name == null || !expect(':')) {
+                    return false;
+                }
+                boolean ok = switch (name) {
+                    case "jti" -> (jti = readString()) != null;
+                    case "sub" -> (sub = readString()) != null;
+                    case "type" -> (type = readString()) != null;
+                    case "fam" -> (fam = readString()) != null;
+                    case "iat" -> (iat = readLong()) >= 0;
+                    case "exp" -> (exp = readLong()) >= 0;
+                    default -> false;
+                };
+                if (!ok) {
+                    return false;
+                }
+            } while (expect(','));
+            return expect('}') && pos == end;
+        }
+
+        private int peek() {
+            return pos < end ? json[pos] : -1;
+        }
+
+        private boolean expect(char c) {
+            if (pos < end && json[pos] == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private long readLong() {
+            int start = pos;
+            long value = 0;
+            while (pos < end && json[pos] >= '0' && json[pos] <= '9' && pos - start < 18) {
+                value = value * 10 + (json[pos++] - '0');
+            }
+            return pos > start && (pos >= end || json[pos] < '0' || json[pos] > '9') ? value : -1;
+        }
+
+        private String readString() {
+            if (!expect('"')) {
+                return null;
+            }
+            int start = pos;
+            boolean plainAscii = true;
+            while (pos < end && json[pos] != '"') {
+                if (json[pos] == '\\' || json[pos] < 0) {
+                    plainAscii = false;
+                    if (json[pos] == '\\') {
+                        pos++;
+                    }
+                }
+                pos++;
+            }
+            if (pos >= end) {
+                return null;
+            }
+            String value = plainAscii
+                    ? new String(json, start, pos - start, StandardCharsets.ISO_8859_1)
+                    : unescape(start, pos);
+            pos++;
+            return value;
+        }
+
+        private String unescape(int start, int stop) {
+            byte[] raw = new byte[stop - start];
+            int n = 0;
+            for (int i = start; i < stop; i++) {
+                byte b = json[i];
+                if (b != '\\') {
+                    raw[n++] = b;
+                    continue;
+                }
+                byte e = json[++i];
+                switch (e) {
+                    case 'b' -> raw[n++] = '\b';
+                    case 't' -> raw[n++] = '\t';
+                    case 'n' -> raw[n++] = '\n';
+                    case 'f' -> raw[n++] = '\f';
+                    case 'r' -> raw[n++] = '\r';
+                    case 'u' -> {
+                        if (i + 4 >= stop) {
+                            return null;
+                        }
+                        int c = Character.digit(json[i + 1], 16) << 12 | Character.digit(json[i + 2], 16) << 8
+                                | Character.digit(json[i + 3], 16) << 4 | Character.digit(json[i + 4], 16);
+                        if (c < 0) {
+                            return null;
+                        }
+                        i += 4;
+                        int cp = c;
+                        if (Character.isHighSurrogate((char) c) && i + 6 < stop
+                                && json[i + 1] == '\\' && json[i + 2] == 'u') {
+                            int low = Character.digit(json[i + 3], 16) << 12 | Character.digit(json[i + 4], 16) << 8
+                                    | Character.digit(json[i + 5], 16) << 4 | Character.digit(json[i + 6], 16);
+                            if (low >= 0 && Character.isLowSurrogate((char) low)) {
+                                cp = Character.toCodePoint((char) c, (char) low);
+                                i += 6;
+                            }
+                        }
+                        byte[] utf8 = new String(Character.toChars(cp)).getBytes(StandardCharsets.UTF_8);
+                        System.arraycopy(utf8, 0, raw, n, utf8.length);
+                        n += utf8.length;
+                    }
+                    default -> raw[n++] = e;
+                }
+            }
+            return new String(raw, 0, n, StandardCharsets.UTF_8);
+        }
+    }
+}
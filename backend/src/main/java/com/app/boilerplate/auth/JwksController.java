@@ -0,0 +1,53 @@
+package com.app.boilerplate.auth;
+
+/**
+ * JWKS Controller
+ *
+ * Publishes the public half of the JWT key ring at /.well-known/jwks.json so other services
+ * can verify our tokens locally instead of sharing the signing secret or calling back.
+ * Responses are cacheable; the ETag changes whenever the set of kids changes.
+ *
+ * @see com.app.boilerplate.auth.JwtKeyRing
+ */
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final long maxAgeSeconds;
+
+    public JwksController(JwtKeyRing keyRing,
+                          @Value("${app.jwt.jwks.max-age-seconds:300}") long maxAgeSeconds) {
+        this.keyRing = keyRing;
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * Current verification keys as a JSON Web Key Set
+     *
+     * @return JWKS document, or 304 when the client's ETag is still current
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks(WebRequest webRequest) {
+        List<Map<String, Object>> keys = keyRing.publicJwks();
+        String etag = "\"" + Integer.toHexString(keys.stream().map(k -> k.get("kid")).toList().hashCode()) + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic())
+                .eTag(etag)
+                .body(Map.of("keys", keys));
+    }
+}
@@ -1,26 +1,48 @@
 package com.app.boilerplate.auth;
 
+import com.app.boilerplate.user.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
+/**
+ * Authenticates requests carrying a valid, unrevoked access token
+ *
+ * ROLE_ADMIN comes from the stored users.role, looked up only for /api/admin/** requests so
+ * every other request stays free of database work. It is never derived from the email in
+ * the token: registration does not prove ownership of an address.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> ADMIN = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    private static final RequestMatcher ADMIN_PATHS = new AntPathRequestMatcher("/api/admin/**");
+
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserRepository userRepository;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService,
+                         TokenRevocationService tokenRevocationService,
+                         UserRepository userRepository) {
         this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -34,12 +56,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        String token = authHeader.substring(7);
-        String email = jwtService.extractEmail(token);
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtService.isTokenValid(token)) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            // One verification per request; invalid tokens simply leave the request unauthenticated
+            ParsedToken parsed = jwtService.parse(authHeader.substring(7));
+            if (parsed.isAccessToken() && parsed.subject() != null && !tokenRevocationService.isRevoked(parsed)) {
+                // The parsed token rides along as credentials so /logout can revoke it without re-parsing
+                List<GrantedAuthority> authorities = ADMIN_PATHS.matches(request) && userRepository.isAdmin(parsed.subject())
+                        ? ADMIN : Collections.emptyList();
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        email, null, Collections.emptyList());
+                        parsed.subject(), parsed, authorities);
                 auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
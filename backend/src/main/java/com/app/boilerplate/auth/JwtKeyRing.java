@@ -0,0 +1,315 @@
+package com.app.boilerplate.auth;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * JWT signing and verification keys
+ *
+ * In HMAC mode (default) tokens are signed with the shared app.jwt.secret, exactly as before.
+ * In ES256 or EDDSA mode tokens are signed with the active private key of a key ring and carry
+ * its {@code kid} header, and verification resolves the public key from a prebuilt map by kid.
+ * Public keys are published at /.well-known/jwks.json so other services can verify locally.
+ *
+ * Keys are read from app.jwt.signing.key-dir: every {@code <kid>.pub} (X.509 PEM) is a
+ * verification key and every {@code <kid>.key} (PKCS#8 PEM) can sign. The lexicographically
+ * greatest kid with a private key is active unless app.jwt.signing.active-kid is set. The
+ * directory is re-read periodically, so rotating is: drop in a new key pair, wait for the
+ * reload, then remove the old private key. A public key that disappears from disk stays valid
+ * for the longest token lifetime, so tokens it already signed keep verifying until they expire.
+ *
+ * @see com.app.boilerplate.auth.JwksController
+ */
+@Component
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public enum Algorithm {
+        HMAC,
+        ES256,
+        EDDSA
+    }
+
+    private final Algorithm algorithm;
+    private final SecretKey hmacKey;
+    private final boolean acceptLegacyHmac;
+    private final Path keyDir;
+    private final String configuredActiveKid;
+    private final long retiredKeyGraceMs;
+    private final Locator<Key> locator = new LocatorAdapter<>() {
+        @Override
+        protected Key locate(ProtectedHeader header) {
+            return verificationKey(header.getKeyId());
+        }
+    };
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public JwtKeyRing(
+            @Value("${app.jwt.secret}") String secret,
+            @Value("${app.jwt.signing.algorithm:HMAC}") Algorithm algorithm,
+            @Value("${app.jwt.signing.key-dir:}") String keyDir,
+            @Value("${app.jwt.signing.active-kid:}") String activeKid,
+            @Value("${app.jwt.signing.accept-legacy-hmac:false}") boolean acceptLegacyHmac,
+            @Value("${app.jwt.refresh-validity-ms}") long retiredKeyGraceMs
+    ) {
+        this.algorithm = algorithm;
+        this.hmacKey = secret != null && !secret.isBlank()
+                ? Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))
+                : null;
+        this.acceptLegacyHmac = acceptLegacyHmac;
+        this.keyDir = keyDir == null || keyDir.isBlank() ? null : Path.of(keyDir);
+        this.configuredActiveKid = activeKid == null || activeKid.isBlank() ? null : activeKid;
+        this.retiredKeyGraceMs = retiredKeyGraceMs;
+        if (algorithm == Algorithm.HMAC) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("app.jwt.secret is required in HMAC signing mode");
+            }
+            this.snapshot = Snapshot.EMPTY;
+        } else {
+            this.snapshot = this.keyDir != null ? load(Snapshot.EMPTY) : ephemeral();
+        }
+    }
+
+    private JwtKeyRing(Algorithm algorithm, SecretKey hmacKey, Snapshot snapshot) {
+        this.algorithm = algorithm;
+        this.hmacKey = hmacKey;
+        this.acceptLegacyHmac = false;
+        this.keyDir = null;
+        this.configuredActiveKid = null;
+        this.retiredKeyGraceMs = 0;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Key ring signing with a shared HMAC secret
+     */
+    public static JwtKeyRing hmac(String secret) {
+        return new JwtKeyRing(Algorithm.HMAC, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Snapshot.EMPTY);
+    }
+
+    /**
+     * Key ring over in-memory key pairs, signing with {@code activeKid}
+     */
+    public static JwtKeyRing of(Algorithm algorithm, Map<String, KeyPair> keyPairs, String activeKid) {
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        keyPairs.forEach((kid, pair) -> publicKeys.put(kid, pair.getPublic()));
+        KeyPair active = keyPairs.get(activeKid);
+        if (active == null) {
+            throw new IllegalArgumentException("Unknown active kid: " + activeKid);
+        }
+        return new JwtKeyRing(algorithm, null,
+                new Snapshot(activeKid, active.getPrivate(), Map.copyOf(publicKeys), Map.of()));
+    }
+
+    public Algorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Kid of the key currently used for signing, null in HMAC mode
+     */
+    public String activeKid() {
+        return snapshot.activeKid;
+    }
+
+    /**
+     * Sign a token with the active key, adding its kid header
+     */
+    JwtBuilder sign(JwtBuilder builder) {
+        if (algorithm == Algorithm.HMAC) {
+            return builder.signWith(hmacKey);
+        }
+        Snapshot current = snapshot;
+        if (current.signingKey == null) {
+            throw new IllegalStateException("No private key available for signing");
+        }
+        return builder.header().keyId(current.activeKid).and()
+                .signWith(current.signingKey, signatureAlgorithm());
+    }
+
+    /**
+     * Locator handing the JWT parser the verification key for a token's kid
+     */
+    Locator<Key> locator() {
+        return locator;
+    }
+
+    /**
+     * HMAC secret, null when signing asymmetrically
+     */
+    SecretKey hmacKey() {
+        return algorithm == Algorithm.HMAC ? hmacKey : null;
+    }
+
+    private Key verificationKey(String kid) {
+        if (kid == null) {
+            // Tokens without kid are the pre-key-ring HMAC tokens
+            return algorithm == Algorithm.HMAC || acceptLegacyHmac ? hmacKey : null;
+        }
+        return snapshot.verificationKeys.get(kid);
+    }
+
+    /**
+     * Public keys in JWK form for the JWKS endpoint
+     *
+     * @return JWK maps, empty in HMAC mode since the shared secret must never be published
+     */
+    public List<Map<String, Object>> publicJwks() {
+        if (algorithm == Algorithm.HMAC) {
+            return List.of();
+        }
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        new TreeMap<>(snapshot.verificationKeys).forEach((kid, publicKey) -> jwks.add(new LinkedHashMap<>(
+                Jwks.builder().key(publicKey)
+                        .id(kid)
+                        .algorithm(algorithm == Algorithm.ES256 ? "ES256" : "EdDSA")
+                        .publicKeyUse("sig")
+                        .build())));
+        return jwks;
+    }
+
+    /**
+     * Re-read the key directory so rotated keys are picked up without a restart
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.signing.reload-interval-ms:60000}")
+    public void reload() {
+        if (algorithm == Algorithm.HMAC || keyDir == null) {
+            return;
+        }
+        try {
+            snapshot = load(snapshot);
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload JWT keys from {}, keeping current key ring", keyDir, e);
+        }
+    }
+
+    private Snapshot load(Snapshot previous) {
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new TreeMap<>();
+        try (Stream<Path> files = Files.list(keyDir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pub")) {
+                    publicKeys.put(name.substring(0, name.length() - 4),
+                            keyFactory().generatePublic(new X509EncodedKeySpec(readPem(file))));
+                } else if (name.endsWith(".key")) {
+                    privateKeys.put(name.substring(0, name.length() - 4),
+                            keyFactory().generatePrivate(new PKCS8EncodedKeySpec(readPem(file))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read JWT key directory " + keyDir, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid JWT key in " + keyDir, e);
+        }
+
+        String activeKid = configuredActiveKid;
+        if (activeKid == null && !privateKeys.isEmpty()) {
+            activeKid = ((TreeMap<String, PrivateKey>) privateKeys).lastKey();
+        }
+        PrivateKey signingKey = activeKid != null ? privateKeys.get(activeKid) : null;
+        if (activeKid != null && (signingKey == null || !publicKeys.containsKey(activeKid))) {
+            throw new IllegalStateException("Active JWT key " + activeKid + " needs both .key and .pub in " + keyDir);
+        }
+
+        // Keys removed from disk keep verifying until every token they signed has expired
+        Instant now = Instant.now();
+        Map<String, Instant> retiredUntil = new HashMap<>();
+        previous.verificationKeys.forEach((kid, publicKey) -> {
+            if (publicKeys.containsKey(kid)) {
+                return;
+            }
+            Instant until = previous.retiredUntil.getOrDefault(kid, now.plusMillis(retiredKeyGraceMs));
+            if (until.isAfter(now)) {
+                publicKeys.put(kid, publicKey);
+                retiredUntil.put(kid, until);
+            }
+        });
+
+        if (previous.activeKid != null && !previous.activeKid.equals(activeKid)) {
+            logger.info("JWT signing key rotated from {} to {}", previous.activeKid, activeKid);
+        }
+        return new Snapshot(activeKid, signingKey, Map.copyOf(publicKeys), Map.copyOf(retiredUntil));
+    }
+
+    private Snapshot ephemeral() {
+        KeyPair pair = generateKeyPair(algorithm);
+        String kid = "ephemeral-" + Instant.now().getEpochSecond();
+        logger.warn("No app.jwt.signing.key-dir configured; generated ephemeral {} key {}. "
+                + "Tokens will not survive a restart or verify on other nodes.", algorithm, kid);
+        return new Snapshot(kid, pair.getPrivate(), Map.of(kid, pair.getPublic()), Map.of());
+    }
+
+    /**
+     * Fresh key pair for an asymmetric mode (EDDSA uses Ed25519)
+     */
+    public static KeyPair generateKeyPair(Algorithm algorithm) {
+        return switch (algorithm) {
+            case ES256 -> Jwts.SIG.ES256.keyPair().build();
+            case EDDSA -> Jwks.CRV.Ed25519.keyPair().build();
+            case HMAC -> throw new IllegalArgumentException("HMAC has no key pair");
+        };
+    }
+
+    private SignatureAlgorithm signatureAlgorithm() {
+        return algorithm == Algorithm.ES256 ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA;
+    }
+
+    private KeyFactory keyFactory() throws GeneralSecurityException {
+        return KeyFactory.getInstance(algorithm == Algorithm.ES256 ? "EC" : "Ed25519");
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        String pem = Files.readString(file, StandardCharsets.US_ASCII)
+                .replaceAll("-----(BEGIN|END)[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(pem);
+    }
+
+    private record Snapshot(String activeKid,
+                            PrivateKey signingKey,
+                            Map<String, PublicKey> verificationKeys,
+                            Map<String, Instant> retiredUntil) {
+
+        static final Snapshot EMPTY = new Snapshot(null, null, Map.of(), Map.of());
+    }
+}
@@ -12,40 +12,89 @@ package com.app.boilerplate.auth;
  * - app.jwt.access-validity-ms
  * - app.jwt.refresh-validity-ms
  *
+ * Signing keys come from {@link JwtKeyRing}: the shared HMAC secret by default, or a
+ * kid-indexed ES256/EdDSA key ring whose public keys are published as a JWKS.
+ *
+ * Verification uses a single immutable parser built at startup. Verified claims can
+ * additionally be cached until token expiry (app.jwt.claims-cache.*) so a client reusing
+ * the same access token does not pay for signature verification and JSON decoding on
+ * every request.
+ *
+ * In HMAC mode, app.jwt.fast-codec.enabled switches signing and verification of our own
+ * fixed-shape tokens to {@link FixedSchemaJwtCodec}; its output is byte-identical to jjwt's,
+ * and any token it does not recognise still goes through the jjwt parser.
+ *
+ * Signing and (uncached) verification are timed as auth.jwt.sign{type} and
+ * auth.jwt.verify{outcome}.
+ *
  * @see com.app.boilerplate.auth.JwtAuthFilter
  */
 
 import com.app.boilerplate.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
-    private final SecretKey key;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final VerifiedClaimsCache claimsCache;
+    private final FixedSchemaJwtCodec codec;
     private final long accessValidityMs;
     private final long refreshValidityMs;
+    private final Timer signAccessTimer;
+    private final Timer signRefreshTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
 
     public JwtService(
-            @Value("${app.jwt.secret}") String secret,
+            JwtKeyRing keyRing,
             @Value("${app.jwt.access-validity-ms}") long accessValidityMs,
-            @Value("${app.jwt.refresh-validity-ms}") long refreshValidityMs
+            @Value("${app.jwt.refresh-validity-ms}") long refreshValidityMs,
+            @Value("${app.jwt.claims-cache.enabled:true}") boolean claimsCacheEnabled,
+            @Value("${app.jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize,
+            @Value("${app.jwt.fast-codec.enabled:false}") boolean fastCodecEnabled,
+            MeterRegistry meterRegistry
     ) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser().keyLocator(keyRing.locator()).build();
+        this.claimsCache = claimsCacheEnabled ? new VerifiedClaimsCache(claimsCacheMaxSize) : null;
+        this.codec = fastCodecEnabled && keyRing.hmacKey() != null ? new FixedSchemaJwtCodec(keyRing.hmacKey()) : null;
         this.accessValidityMs = accessValidityMs;
         this.refreshValidityMs = refreshValidityMs;
+        this.signAccessTimer = timer(meterRegistry, "auth.jwt.sign", "type", TYPE_ACCESS);
+        this.signRefreshTimer = timer(meterRegistry, "auth.jwt.sign", "type", TYPE_REFRESH);
+        this.verifyValidTimer = timer(meterRegistry, "auth.jwt.verify", "outcome", "valid");
+        this.verifyInvalidTimer = timer(meterRegistry, "auth.jwt.verify", "outcome", "invalid");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String name, String tag, String value) {
+        return Timer.builder(name)
+                .tag(tag, value)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     private static final String CLAIM_TYPE = "type";
-    private static final String TYPE_ACCESS = "access";
-    private static final String TYPE_REFRESH = "refresh";
+    private static final String CLAIM_FAMILY = "fam";
+    private static final String TYPE_ACCESS = ParsedToken.TYPE_ACCESS;
+    private static final String TYPE_REFRESH = ParsedToken.TYPE_REFRESH;
 
     /**
      * Generate a short-lived access token for the user
@@ -54,67 +103,165 @@ public class JwtService {
      * @return JWT access token string
      */
     public String generateAccessToken(User user) {
-        return buildToken(user.getEmail(), accessValidityMs, TYPE_ACCESS);
+        return generateAccessToken(user.getEmail());
+    }
+
+    /**
+     * Generate a short-lived access token for a subject
+     *
+     * @param subject User email
+     * @return JWT access token string
+     */
+    public String generateAccessToken(String subject) {
+        long start = System.nanoTime();
+        String token = buildToken(subject, accessValidityMs, TYPE_ACCESS);
+        signAccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
     }
 
     /**
      * Generate a long-lived refresh token for the user
      *
+     * Refresh tokens are stateful: callers must persist the jti through
+     * {@link RefreshTokenService} rather than calling this directly.
+     *
      * @param user User entity containing email as the subject
+     * @param jti Unique token id recorded in the refresh token store
+     * @param family Rotation family shared by all tokens descending from one login
+     * @param expiresAt Token expiry
      * @return JWT refresh token string
      */
-    public String generateRefreshToken(User user) {
-        return buildToken(user.getEmail(), refreshValidityMs, TYPE_REFRESH);
+    public String generateRefreshToken(User user, String jti, String family, Instant expiresAt) {
+        return generateRefreshToken(user.getEmail(), jti, family, expiresAt);
+    }
+
+    /**
+     * Generate a long-lived refresh token for a subject (see {@link #generateRefreshToken(User, String, String, Instant)})
+     */
+    public String generateRefreshToken(String subject, String jti, String family, Instant expiresAt) {
+        long start = System.nanoTime();
+        String token = signRefresh(subject, jti, family, expiresAt);
+        signRefreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    private String signRefresh(String subject, String jti, String family, Instant expiresAt) {
+        if (codec != null) {
+            return codec.encode(jti, subject, TYPE_REFRESH, family,
+                    System.currentTimeMillis() / 1000, expiresAt.getEpochSecond());
+        }
+        return keyRing.sign(Jwts.builder()
+                        .id(jti)
+                        .subject(subject)
+                        .claim(CLAIM_TYPE, TYPE_REFRESH)
+                        .claim(CLAIM_FAMILY, family)
+                        .issuedAt(new Date())
+                        .expiration(Date.from(expiresAt)))
+                .compact();
+    }
+
+    /**
+     * Lifetime of access tokens in milliseconds
+     */
+    public long getAccessValidityMs() {
+        return accessValidityMs;
+    }
+
+    /**
+     * Lifetime of refresh tokens in milliseconds
+     */
+    public long getRefreshValidityMs() {
+        return refreshValidityMs;
     }
 
     private String buildToken(String email, long validityMs, String type) {
-        return Jwts.builder()
-                .subject(email)
-                .claim(CLAIM_TYPE, type)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + validityMs))
-                .signWith(key)
+        String jti = UUID.randomUUID().toString();
+        if (codec != null) {
+            long now = System.currentTimeMillis();
+            return codec.encode(jti, email, type, null, now / 1000, (now + validityMs) / 1000);
+        }
+        return keyRing.sign(Jwts.builder()
+                        .id(jti)
+                        .subject(email)
+                        .claim(CLAIM_TYPE, type)
+                        .issuedAt(new Date())
+                        .expiration(new Date(System.currentTimeMillis() + validityMs)))
                 .compact();
     }
 
     /**
-     * Extract email (subject) from JWT token
+     * Verify a token once and return everything callers need from it
+     *
+     * Never throws for bad input: malformed, tampered or expired tokens yield a
+     * {@link ParsedToken} carrying the failure reason.
      *
      * @param token JWT token string
-     * @return Email address from token subject
+     * @return Verification result with subject, type and expiry
      */
-    public String extractEmail(String token) {
-        return getClaims(token).getSubject();
+    public ParsedToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.MISSING);
+        }
+        if (claimsCache != null) {
+            ParsedToken cached = claimsCache.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long start = System.nanoTime();
+        ParsedToken parsed = verify(token);
+        (parsed.isValid() ? verifyValidTimer : verifyInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (claimsCache != null) {
+            claimsCache.put(token, parsed);
+        }
+        return parsed;
     }
 
     /**
-     * Check if token is a refresh token (vs access token)
+     * Verified-claims cache counters
      *
-     * @param token JWT token string
-     * @return true if token type is "refresh", false otherwise
+     * @return Cache statistics, or null when the cache is disabled
      */
-    public boolean isRefreshToken(String token) {
-        try {
-            return TYPE_REFRESH.equals(getClaims(token).get(CLAIM_TYPE, String.class));
-        } catch (Exception e) {
-            return false;
-        }
+    public VerifiedClaimsCache.Stats claimsCacheStats() {
+        return claimsCache != null ? claimsCache.stats() : null;
     }
 
-    public boolean isTokenValid(String token) {
-        try {
-            getClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Periodically drop expired entries so idle tokens do not hold cache slots
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.claims-cache.purge-interval-ms:60000}")
+    public void purgeExpiredClaims() {
+        if (claimsCache != null) {
+            claimsCache.purgeExpired();
         }
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private ParsedToken verify(String token) {
+        if (codec != null) {
+            ParsedToken decoded = codec.decode(token, System.currentTimeMillis());
+            if (decoded != null) {
+                return decoded;
+            }
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Date iat = claims.getIssuedAt();
+            Date exp = claims.getExpiration();
+            return ParsedToken.valid(
+                    claims.getSubject(),
+                    claims.get(CLAIM_TYPE, String.class),
+                    claims.getId(),
+                    claims.get(CLAIM_FAMILY, String.class),
+                    iat != null ? iat.toInstant() : null,
+                    exp != null ? exp.toInstant() : null);
+        } catch (ExpiredJwtException e) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.EXPIRED);
+        } catch (SignatureException e) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return ParsedToken.invalid(ParsedToken.FailureReason.MALFORMED);
+        }
     }
 }
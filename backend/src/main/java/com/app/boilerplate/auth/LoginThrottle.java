@@ -0,0 +1,154 @@
+package com.app.boilerplate.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.app.boilerplate.common.util.EmailNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory login throttle keyed by normalized email and by client IP
+ *
+ * Checked before the user lookup and password hash, so throttled credential-stuffing traffic
+ * costs a map lookup and a CAS instead of a DB query and a BCrypt compare.
+ *
+ * Each key is a token bucket stored as a single {@link AtomicLong} holding its theoretical
+ * arrival time (GCRA): a request is allowed while that time is no more than
+ * {@code (capacity - 1) * interval} ahead of now, and advances it by one interval. Acquiring
+ * is one CAS on a per-key value and lookups are lock-free, so contention only arises between
+ * requests for the same key. A bucket whose time has fallen behind now is full again and is
+ * evicted by the periodic sweep.
+ *
+ * Limits are per node.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+    private final LongSupplier clockMs;
+    private final ConcurrentHashMap<String, AtomicLong> emailBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> ipBuckets = new ConcurrentHashMap<>();
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    @Autowired
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.security.login-throttle.per-email.capacity:5}") int emailCapacity,
+                         @Value("${app.security.login-throttle.per-email.refill-per-minute:5}") int emailRefillPerMinute,
+                         @Value("${app.security.login-throttle.per-ip.capacity:30}") int ipCapacity,
+                         @Value("${app.security.login-throttle.per-ip.refill-per-minute:30}") int ipRefillPerMinute) {
+        this(meterRegistry, enabled, new Limit(emailCapacity, emailRefillPerMinute),
+                new Limit(ipCapacity, ipRefillPerMinute), () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    LoginThrottle(MeterRegistry meterRegistry, boolean enabled, Limit emailLimit, Limit ipLimit, LongSupplier clockMs) {
+        this.enabled = enabled;
+        this.emailLimit = emailLimit;
+        this.ipLimit = ipLimit;
+        this.clockMs = clockMs;
+
+        Gauge.builder("auth.login.throttle.keys", this, t -> t.emailBuckets.size() + t.ipBuckets.size())
+                .description("Login throttle buckets held in memory")
+                .register(meterRegistry);
+        this.throttledByEmail = Counter.builder("auth.login.throttled").tag("key", "email").register(meterRegistry);
+        this.throttledByIp = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Take one login attempt from both the email's and the client IP's bucket
+     *
+     * The IP is checked first; a request refused by its IP does not count against the email.
+     *
+     * @param email Email as submitted (normalized here)
+     * @param clientIp Remote address of the request
+     * @return 0 if the attempt may proceed, otherwise seconds until it would be allowed
+     */
+    public long tryAcquire(String email, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = clockMs.getAsLong();
+        if (clientIp != null) {
+            long waitMs = acquire(bucket(ipBuckets, clientIp, now), ipLimit, now);
+            if (waitMs > 0) {
+                throttledByIp.increment();
+                return toSeconds(waitMs);
+            }
+        }
+        if (email != null) {
+            long waitMs = acquire(bucket(emailBuckets, EmailNormalizer.normalize(email), now), emailLimit, now);
+            if (waitMs > 0) {
+                throttledByEmail.increment();
+                return toSeconds(waitMs);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they are indistinguishable from new ones
+     */
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        long now = clockMs.getAsLong();
+        emailBuckets.values().removeIf(bucket -> bucket.get() <= now);
+        ipBuckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+
+    int size() {
+        return emailBuckets.size() + ipBuckets.size();
+    }
+
+    private static AtomicLong bucket(ConcurrentHashMap<String, AtomicLong> buckets, String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise ms until one is available
+     */
+    private static long acquire(AtomicLong bucket, Limit limit, long now) {
+        while (true) {
+            long arrival = bucket.get();
+            long base = Math.max(arrival, now);
+            if (base - now > limit.toleranceMs()) {
+                return base - limit.toleranceMs() - now;
+            }
+            if (bucket.compareAndSet(arrival, base + limit.intervalMs())) {
+                return 0;
+            }
+        }
+    }
+
+    private static long toSeconds(long ms) {
+        return Math.max(1, (ms + 999) / 1000);
+    }
+
+    /**
+     * Bucket size and refill rate
+     */
+    record Limit(long intervalMs, long toleranceMs) {
+
+        Limit(int capacity, int refillPerMinute) {
+            this(60_000L / Math.max(1, refillPerMinute), (60_000L / Math.max(1, refillPerMinute)) * (Math.max(1, capacity) - 1));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.boilerplate.auth;
+
+import java.time.Instant;
+
+/**
+ * Result of a single JWT verification
+ *
+ * Produced by {@link JwtService#parse(String)} so callers can read the subject, token type
+ * and expiry from one verification instead of re-parsing the token for each question.
+ * Invalid tokens never throw; they carry a {@link FailureReason} instead.
+ *
+ * @param subject Token subject (user email), null when invalid
+ * @param type Token type claim ("access" or "refresh"), null when invalid
+ * @param id Token id ({@code jti}), null when absent or invalid
+ * @param family Refresh token family ({@code fam}), null for access tokens or when invalid
+ * @param issuedAt Token issue time ({@code iat}, whole seconds), null when absent or invalid
+ * @param expiresAt Token expiry, null when invalid
+ * @param failure Why verification failed, null when valid
+ */
+public record ParsedToken(String subject,
+                          String type,
+                          String id,
+                          String family,
+                          Instant issuedAt,
+                          Instant expiresAt,
+                          FailureReason failure) {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * Reasons a token can be rejected
+     */
+    public enum FailureReason {
+        MISSING,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        EXPIRED,
+        UNSUPPORTED
+    }
+
+    static ParsedToken valid(String subject, String type, String id, String family,
+                             Instant issuedAt, Instant expiresAt) {
+        return new ParsedToken(subject, type, id, family, issuedAt, expiresAt, null);
+    }
+
+    static ParsedToken invalid(FailureReason failure) {
+        return new ParsedToken(null, null, null, null, null, null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    public boolean isAccessToken() {
+        return isValid() && TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return isValid() && TYPE_REFRESH.equals(type);
+    }
+}
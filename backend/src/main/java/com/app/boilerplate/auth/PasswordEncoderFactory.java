@@ -0,0 +1,200 @@
+package com.app.boilerplate.auth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Builds the password encoder, with the work factor calibrated to this machine
+ *
+ * New hashes are stored with an algorithm prefix ({@code {bcrypt}} or {@code {argon2}}).
+ * Hashes without a prefix (written before prefixes existed) are read as BCrypt. A stored
+ * hash with another algorithm, or with a cost below the configured minimum (bcrypt.min-cost,
+ * argon2.memory-kib and argon2.min-iterations, the same on every node), reports
+ * {@link PasswordEncoder#upgradeEncoding(String)} as true so UserService can rewrite it after
+ * the next successful login. The calibrated cost is only used for new hashes: nodes on
+ * different hardware calibrate differently and must not rehash each other's users.
+ *
+ * With calibration on, a few hashes are timed at startup and the cost (BCrypt log rounds,
+ * Argon2id iterations at fixed memory) is the one closest to the target latency, never
+ * below the configured minimum. With it off, the minimum is used as-is.
+ */
+@Component
+public class PasswordEncoderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+    static final String ID_BCRYPT = "bcrypt";
+    static final String ID_ARGON2 = "argon2";
+
+    private static final int MAX_BCRYPT_COST = 20;
+    private static final int MAX_ARGON2_ITERATIONS = 64;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2ID
+    }
+
+    private final Algorithm algorithm;
+    private final boolean calibrate;
+    private final long targetMs;
+    private final int bcryptMinCost;
+    private final int argon2MemoryKib;
+    private final int argon2MinIterations;
+    private PasswordEncoder encoder;
+
+    public PasswordEncoderFactory(@Value("${app.security.password-hashing.algorithm:BCRYPT}") Algorithm algorithm,
+                                  @Value("${app.security.password-hashing.calibrate:true}") boolean calibrate,
+                                  @Value("${app.security.password-hashing.target-ms:250}") long targetMs,
+                                  @Value("${app.security.password-hashing.bcrypt.min-cost:12}") int bcryptMinCost,
+                                  @Value("${app.security.password-hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                  @Value("${app.security.password-hashing.argon2.min-iterations:2}") int argon2MinIterations) {
+        this.algorithm = algorithm;
+        this.calibrate = calibrate;
+        this.targetMs = targetMs;
+        this.bcryptMinCost = bcryptMinCost;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2MinIterations = argon2MinIterations;
+    }
+
+    /**
+     * The delegating encoder, created (and calibrated, if enabled) on first use
+     *
+     * This is the raw encoder; request paths use the pooled PasswordEncoder bean instead.
+     */
+    public synchronized PasswordEncoder create() {
+        if (encoder == null) {
+            encoder = build();
+        }
+        return encoder;
+    }
+
+    private PasswordEncoder build() {
+        int bcryptCost = bcryptMinCost;
+        int argon2Iterations = argon2MinIterations;
+        if (calibrate && algorithm == Algorithm.BCRYPT) {
+            bcryptCost = calibrateBcrypt();
+        } else if (calibrate && algorithm == Algorithm.ARGON2ID) {
+            argon2Iterations = calibrateArgon2();
+        }
+
+        String idForEncode = algorithm == Algorithm.ARGON2ID ? ID_ARGON2 : ID_BCRYPT;
+        BCryptPasswordEncoder bcrypt = new MinCostBCrypt(bcryptCost, bcryptMinCost);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(idForEncode, Map.of(
+                ID_BCRYPT, bcrypt,
+                ID_ARGON2, new MinCostArgon2(argon2MemoryKib, argon2Iterations, argon2MinIterations)));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        logger.info("Password hashing: {} (bcrypt cost {}, argon2id m={}KiB t={}, target {}ms, calibrated: {})",
+                algorithm, bcryptCost, argon2MemoryKib, argon2Iterations, targetMs, calibrate);
+        return delegating;
+    }
+
+    private int calibrateBcrypt() {
+        // Each extra log round doubles the work, so time the floor and extrapolate
+        double baseMs = timeMs(new BCryptPasswordEncoder(bcryptMinCost));
+        int steps = (int) Math.round(Math.log(targetMs / baseMs) / Math.log(2));
+        return Math.min(MAX_BCRYPT_COST, Math.max(bcryptMinCost, bcryptMinCost + steps));
+    }
+
+    private int calibrateArgon2() {
+        // Time grows linearly with the iteration count at fixed memory
+        double baseMs = timeMs(new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKib, argon2MinIterations));
+        int iterations = (int) Math.round(argon2MinIterations * targetMs / baseMs);
+        return Math.min(MAX_ARGON2_ITERATIONS, Math.max(argon2MinIterations, iterations));
+    }
+
+    private static double timeMs(PasswordEncoder encoder) {
+        encoder.encode(CALIBRATION_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Math.max(best / 1_000_000.0, 0.01);
+    }
+
+    /**
+     * BCrypt that asks for a rehash only below the configured minimum cost
+     *
+     * Spring's own check compares against the encoding cost, which is calibrated per node;
+     * nodes that calibrated differently would then rehash each other's users on every login.
+     */
+    static final class MinCostBCrypt extends BCryptPasswordEncoder {
+
+        private final int minCost;
+
+        MinCostBCrypt(int cost, int minCost) {
+            super(cost);
+            this.minCost = minCost;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // $2a$12$...
+            if (encodedPassword == null || encodedPassword.length() < 7) {
+                return false;
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(4, 6)) < minCost;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Argon2id that asks for a rehash only when stored memory or iterations are below the configured minimum
+     */
+    static final class MinCostArgon2 extends Argon2PasswordEncoder {
+
+        private final int minMemoryKib;
+        private final int minIterations;
+
+        MinCostArgon2(int memoryKib, int iterations, int minIterations) {
+            super(16, 32, 1, memoryKib, iterations);
+            this.minMemoryKib = memoryKib;
+            this.minIterations = minIterations;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            // $argon2id$v=19$m=19456,t=2,p=1$salt$hash
+            if (encodedPassword == null) {
+                return false;
+            }
+            if (!encodedPassword.startsWith("$argon2id$")) {
+                return true;
+            }
+            int memoryKib = parameter(encodedPassword, "m=");
+            int iterations = parameter(encodedPassword, "t=");
+            return memoryKib < 0 || iterations < 0 || memoryKib < minMemoryKib || iterations < minIterations;
+        }
+
+        private static int parameter(String encodedPassword, String name) {
+            int start = encodedPassword.indexOf(name);
+            if (start < 0) {
+                return -1;
+            }
+            start += name.length();
+            int end = start;
+            while (end < encodedPassword.length() && Character.isDigit(encodedPassword.charAt(end))) {
+                end++;
+            }
+            try {
+                return Integer.parseInt(encodedPassword.substring(start, end));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
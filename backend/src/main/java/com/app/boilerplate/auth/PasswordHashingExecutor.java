@@ -0,0 +1,304 @@
+package com.app.boilerplate.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool for password hashing
+ *
+ * BCrypt at cost 12 is a few hundred ms of CPU. Running it on request threads lets a login
+ * burst take every Tomcat thread and starve cheap endpoints, so all hashing goes through a
+ * fixed pool (one thread per core by default) with a bounded queue instead. Work that cannot
+ * be queued, or that waited longer than the configured maximum before starting, is rejected
+ * with a {@link PasswordHashingRejectedException} so the caller can answer 503 + Retry-After
+ * right away. Callers also stop waiting (same exception) once max-wait plus twice the average
+ * hash time has passed, so a stuck hash cannot hold a request thread indefinitely.
+ *
+ * Background work (rehashing on login) only runs while the queue is at most half full, so it
+ * never takes the slots interactive requests need. Bulk work (user import) waits instead of
+ * being rejected, and only a fixed share of the threads (app.security.password-hashing.bulk-threads,
+ * by default a quarter of them) runs it at a time, across all imports.
+ *
+ * Metrics: auth.password.hashing.queue.depth, auth.password.hashing.active,
+ * auth.password.hashing.wait (queue time), auth.password.hashing.rejected (by reason) and
+ * auth.password.hash{op=encode|matches} (hashing time on the pool, for wrapped encoders).
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    // Set on pool threads so hashing called from background work runs inline instead of re-queueing
+    private static final ThreadLocal<Boolean> ON_POOL = ThreadLocal.withInitial(() -> false);
+    private static final long BULK_BACKOFF_MS = 10;
+
+    private final ThreadPoolExecutor pool;
+    private final int threads;
+    private final int queueCapacity;
+    private final long maxWaitNanos;
+    private final Semaphore bulkPermits;
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedWaitExceeded;
+    private final Counter rejectedTimedOut;
+    private final Counter deferredBackground;
+
+    // Moving average of one hash (updated from every pool thread), for Retry-After and the caller's timeout
+    private final AtomicLong averageHashNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(250));
+
+    public PasswordHashingExecutor(MeterRegistry meterRegistry,
+                                   @Value("${app.security.password-hashing.threads:0}") int threads,
+                                   @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.security.password-hashing.max-wait-ms:2000}") long maxWaitMs,
+                                   @Value("${app.security.password-hashing.bulk-threads:0}") int bulkThreads) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.bulkPermits = new Semaphore(bulkThreads > 0 ? Math.min(bulkThreads, this.threads) : Math.max(1, this.threads / 4));
+
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(() -> {
+                        ON_POOL.set(true);
+                        runnable.run();
+                    }, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue.depth", pool, p -> p.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time hashing tasks spent queued")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time to hash a password")
+                .tag("op", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time to check a password against its hash")
+                .tag("op", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedWaitExceeded = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "wait_exceeded")
+                .register(meterRegistry);
+        this.rejectedTimedOut = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "timed_out")
+                .register(meterRegistry);
+        this.deferredBackground = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "background_deferred")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wrap an encoder so encode and matches run on this pool
+     */
+    public PasswordEncoder wrap(PasswordEncoder delegate) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return call(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return call(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * Run hashing work on the pool and wait for its result
+     *
+     * @throws PasswordHashingRejectedException if the queue is full, the task waited too long or
+     *         the result did not arrive within max-wait plus twice the average hash time
+     */
+    public <T> T call(Callable<T> work) {
+        if (ON_POOL.get()) {
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Password hashing failed", e);
+            }
+        }
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > maxWaitNanos) {
+                    rejectedWaitExceeded.increment();
+                    throw new PasswordHashingRejectedException(retryAfterSeconds());
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    long took = System.nanoTime() - startedAt;
+                    averageHashNanos.accumulateAndGet(took, (average, sample) -> average + (sample - average) / 8);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds());
+        }
+
+        try {
+            return future.get(maxWaitNanos + 2 * averageHashNanos.get(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedTimedOut.increment();
+            throw new PasswordHashingRejectedException(retryAfterSeconds());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException(retryAfterSeconds());
+        }
+    }
+
+    /**
+     * Queue background hashing work if there is spare capacity, without waiting for it
+     *
+     * @return false if the pool is too busy; the caller should simply try again later
+     */
+    public boolean tryExecute(Runnable work) {
+        if (pool.getQueue().size() >= queueCapacity / 2) {
+            deferredBackground.increment();
+            return false;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    work.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Background password hashing task failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            deferredBackground.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Run bulk hashing work on the pool and wait until all of it has finished
+     *
+     * Never rejected: while all bulk permits are taken, or the queue is half full, the caller
+     * waits, so a large import slows down under login load instead of crowding it out.
+     *
+     * @throws IllegalStateException if a task failed or the caller was interrupted
+     */
+    public void runAll(List<? extends Runnable> work) {
+        List<Future<?>> futures = new ArrayList<>(work.size());
+        try {
+            for (Runnable task : work) {
+                bulkPermits.acquire();
+                FutureTask<Void> future = new FutureTask<>(task, null) {
+                    @Override
+                    protected void done() {
+                        bulkPermits.release();
+                    }
+                };
+                futures.add(future);
+                submitBulk(future);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void submitBulk(FutureTask<Void> future) throws InterruptedException {
+        while (true) {
+            if (pool.isShutdown()) {
+                future.cancel(false);
+                throw new IllegalStateException("Password hashing pool is shut down");
+            }
+            if (pool.getQueue().size() < Math.max(1, queueCapacity / 2)) {
+                try {
+                    pool.execute(future);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // Interactive work filled the queue in between; wait like any other full queue
+                }
+            }
+            Thread.sleep(BULK_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * Estimated seconds until the current backlog has drained (at least 1)
+     */
+    long retryAfterSeconds() {
+        long backlog = pool.getQueue().size() + (long) pool.getActiveCount();
+        long nanos = backlog * averageHashNanos.get() / threads;
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,21 @@
+package com.app.boilerplate.auth;
+
+/**
+ * Thrown when the password hashing pool is saturated
+ *
+ * Mapped to 503 with a Retry-After header by
+ * {@link com.app.boilerplate.common.exception.GlobalExceptionHandler}.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Password hashing capacity exhausted");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
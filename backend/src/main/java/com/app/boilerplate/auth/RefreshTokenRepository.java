@@ -0,0 +1,36 @@
+package com.app.boilerplate.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.jti = :jti")
+    int deleteByJti(@Param("jti") UUID jti);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE jti IN "
+            + "(SELECT jti FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    @Query("select t from RefreshToken t where t.expiresAt > :now")
+    Stream<RefreshToken> streamLive(@Param("now") Instant now);
+}
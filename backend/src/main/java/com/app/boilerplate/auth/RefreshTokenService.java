@@ -0,0 +1,312 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.common.util.AuditLogger;
+import com.app.boilerplate.user.User;
+import com.app.boilerplate.user.UserCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Refresh token store with rotation
+ *
+ * Every refresh token is a row in refresh_tokens and is single-use: a refresh deletes the
+ * presented jti and issues a new one in the same family. Presenting a jti that is no longer
+ * live is treated as token theft and revokes the whole family.
+ *
+ * Liveness is answered from an in-memory index of live jtis, loaded at startup and kept in
+ * step with every write, so the refresh hot path needs no DB read. Secondary indexes from
+ * family and user to their jtis let logout, logout-all and replay revocation touch only the
+ * affected entries; only the periodic sweep scans the whole index. An index miss (a token
+ * issued by another node, or before the index finished loading) falls back to the table.
+ * The single-row delete on rotation stays authoritative, so two concurrent refreshes with
+ * the same token cannot both succeed.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final AuditLogger auditLogger;
+    private final int sweepBatchSize;
+    private final ConcurrentHashMap<UUID, LiveToken> liveIndex = new ConcurrentHashMap<>();
+    // Sets are only touched inside compute on their key, or after being removed from the map
+    private final ConcurrentHashMap<UUID, Set<UUID>> jtisByFamily = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<UUID>> jtisByUser = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtService jwtService,
+                               AuditLogger auditLogger,
+                               @Value("${app.jwt.refresh-store.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.auditLogger = auditLogger;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * Issue a refresh token starting a new rotation family (login, registration)
+     *
+     * @param user Authenticated user
+     * @return JWT refresh token string
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(UserCredentials.of(user));
+    }
+
+    /**
+     * Issue a refresh token starting a new rotation family for a credentials projection
+     */
+    @Transactional
+    public String issue(UserCredentials user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Consume a refresh token and issue its successor in the same family
+     *
+     * @param token Verified refresh token
+     * @param user User the token belongs to
+     * @return New refresh token, or null if the presented token is no longer live
+     */
+    @Transactional
+    public String rotate(ParsedToken token, User user) {
+        return rotate(token, UserCredentials.of(user));
+    }
+
+    /**
+     * Consume a refresh token for a credentials projection (see {@link #rotate(ParsedToken, User)})
+     */
+    @Transactional
+    public String rotate(ParsedToken token, UserCredentials user) {
+        UUID jti = toUuid(token.id());
+        UUID familyId = toUuid(token.family());
+        if (jti == null || familyId == null) {
+            // Stateless token from before the store existed
+            return null;
+        }
+
+        LiveToken live = unindex(jti);
+        if (live == null) {
+            live = refreshTokenRepository.findById(jti)
+                    .map(row -> new LiveToken(row.getUserId(), row.getFamilyId(), row.getExpiresAt().toEpochMilli()))
+                    .orElse(null);
+        }
+        if (live == null || !live.familyId().equals(familyId) || !live.userId().equals(user.id())) {
+            revokeFamily(familyId, user.id());
+            return null;
+        }
+        if (refreshTokenRepository.deleteByJti(jti) == 0) {
+            // Lost a race with a concurrent refresh of the same token
+            revokeFamily(familyId, user.id());
+            return null;
+        }
+        return issue(user, familyId);
+    }
+
+    /**
+     * Revoke every refresh token descending from the same login
+     *
+     * @param familyId Rotation family
+     * @param userId Owner, for the audit trail (nullable)
+     */
+    @Transactional
+    public void revokeFamily(UUID familyId, Long userId) {
+        Set<UUID> jtis = jtisByFamily.remove(familyId);
+        if (jtis != null) {
+            for (UUID jti : jtis) {
+                LiveToken live = liveIndex.remove(jti);
+                if (live != null) {
+                    removeFrom(jtisByUser, live.userId(), jti);
+                }
+            }
+        }
+        int revoked = refreshTokenRepository.deleteByFamilyId(familyId);
+        auditLogger.log("REFRESH_TOKEN_FAMILY_REVOKED", userId != null ? userId.toString() : null,
+                Map.of("family", familyId.toString(), "revoked", revoked));
+    }
+
+    /**
+     * Revoke the rotation family of a presented refresh token (logout)
+     *
+     * @param token Verified refresh token
+     * @param userId Owner, for the audit trail (nullable)
+     */
+    @Transactional
+    public void revoke(ParsedToken token, Long userId) {
+        UUID familyId = toUuid(token.family());
+        if (familyId != null) {
+            revokeFamily(familyId, userId);
+        }
+    }
+
+    /**
+     * Revoke every refresh token of a user (log out everywhere)
+     *
+     * @param userId Owner of the tokens
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        Set<UUID> jtis = jtisByUser.remove(userId);
+        if (jtis != null) {
+            for (UUID jti : jtis) {
+                LiveToken live = liveIndex.remove(jti);
+                if (live != null) {
+                    removeFrom(jtisByFamily, live.familyId(), jti);
+                }
+            }
+        }
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Whether a jti is live according to the in-memory index
+     */
+    boolean isLive(UUID jti) {
+        LiveToken live = liveIndex.get(jti);
+        return live != null && live.expiresAtMs() > System.currentTimeMillis();
+    }
+
+    /**
+     * Load all unexpired tokens into the in-memory index
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        try (Stream<RefreshToken> rows = refreshTokenRepository.streamLive(Instant.now())) {
+            rows.forEach(row -> index(row.getJti(),
+                    new LiveToken(row.getUserId(), row.getFamilyId(), row.getExpiresAt().toEpochMilli())));
+        }
+        logger.info("Loaded {} live refresh tokens", liveIndex.size());
+    }
+
+    /**
+     * Delete expired rows in batches so the table does not grow without bound
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-store.sweep-interval-ms:300000}",
+            initialDelayString = "${app.jwt.refresh-store.sweep-interval-ms:300000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<Map.Entry<UUID, LiveToken>> entries = liveIndex.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<UUID, LiveToken> entry = entries.next();
+            if (entry.getValue().expiresAtMs() <= now) {
+                unindex(entry.getKey());
+            }
+        }
+
+        Instant cutoff = Instant.ofEpochMilli(now);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, sweepBatchSize);
+            total += deleted;
+        } while (deleted == sweepBatchSize);
+        if (total > 0) {
+            logger.info("Swept {} expired refresh tokens", total);
+        }
+    }
+
+    private String issue(UserCredentials user, UUID familyId) {
+        UUID jti = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusMillis(jwtService.getRefreshValidityMs());
+
+        RefreshToken row = new RefreshToken();
+        row.setJti(jti);
+        row.setUserId(user.id());
+        row.setFamilyId(familyId);
+        row.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(row);
+
+        LiveToken live = new LiveToken(user.id(), familyId, expiresAt.toEpochMilli());
+        afterCommit(() -> index(jti, live));
+
+        return jwtService.generateRefreshToken(user.email(), jti.toString(), familyId.toString(), expiresAt);
+    }
+
+    private void index(UUID jti, LiveToken live) {
+        liveIndex.put(jti, live);
+        addTo(jtisByFamily, live.familyId(), jti);
+        addTo(jtisByUser, live.userId(), jti);
+    }
+
+    private LiveToken unindex(UUID jti) {
+        LiveToken live = liveIndex.remove(jti);
+        if (live != null) {
+            removeFrom(jtisByFamily, live.familyId(), jti);
+            removeFrom(jtisByUser, live.userId(), jti);
+        }
+        return live;
+    }
+
+    private static <K> void addTo(ConcurrentHashMap<K, Set<UUID>> index, K key, UUID jti) {
+        index.compute(key, (k, jtis) -> {
+            Set<UUID> set = jtis != null ? jtis : new HashSet<>(4);
+            set.add(jti);
+            return set;
+        });
+    }
+
+    private static <K> void removeFrom(ConcurrentHashMap<K, Set<UUID>> index, K key, UUID jti) {
+        index.computeIfPresent(key, (k, jtis) -> {
+            jtis.remove(jti);
+            return jtis.isEmpty() ? null : jtis;
+        });
+    }
+
+    /**
+     * Families and users with at least one indexed jti (index bookkeeping, for tests)
+     */
+    int indexedFamilies() {
+        return jtisByFamily.size();
+    }
+
+    int indexedUsers() {
+        return jtisByUser.size();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static UUID toUuid(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record LiveToken(Long userId, UUID familyId, long expiresAtMs) {
+    }
+}
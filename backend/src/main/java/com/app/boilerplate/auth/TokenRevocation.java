@@ -0,0 +1,79 @@
+package com.app.boilerplate.auth;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Persisted access-token revocation
+ *
+ * Either a single revoked jti, or a "every token of subject issued before revokedBefore"
+ * marker. Rows let nodes that start later rebuild the in-memory revocation list.
+ */
+@Entity
+@Table(name = "token_revocations")
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String jti;
+
+    private String subject;
+
+    @Column(name = "revoked_before")
+    private Instant revokedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    private Instant createdAt = Instant.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public Instant getRevokedBefore() {
+        return revokedBefore;
+    }
+
+    public void setRevokedBefore(Instant revokedBefore) {
+        this.revokedBefore = revokedBefore;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
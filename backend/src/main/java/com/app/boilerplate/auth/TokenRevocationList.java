@@ -0,0 +1,100 @@
+package com.app.boilerplate.auth;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked access tokens
+ *
+ * Holds two kinds of markers, each kept only until the tokens it covers have expired:
+ * - revoked jtis (single-token logout), fronted by a Bloom filter so the common
+ *   "not revoked" answer costs a few hashed bit probes
+ * - per-subject "revoked before T" markers (log out everywhere)
+ *
+ * Reads are lock-free; writes are rare and serialized so a filter rebuild never loses a
+ * concurrently revoked jti.
+ */
+public class TokenRevocationList {
+
+    private final ConcurrentHashMap<String, Long> revokedJtis = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SubjectMarker> subjectMarkers = new ConcurrentHashMap<>();
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile RevocationBloomFilter bloom;
+
+    public TokenRevocationList(int expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Revoke a single token until its expiry
+     */
+    public synchronized void revokeJti(String jti, long expiresAtMs) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedJtis.merge(jti, expiresAtMs, Math::max);
+        bloom.put(jti);
+    }
+
+    /**
+     * Revoke every token of a subject issued at or before {@code revokedBeforeMs}
+     *
+     * @param expiresAtMs When the marker can be dropped (all covered tokens have expired)
+     */
+    public synchronized void revokeSubjectBefore(String subject, long revokedBeforeMs, long expiresAtMs) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        subjectMarkers.merge(subject, new SubjectMarker(revokedBeforeMs, expiresAtMs),
+                (a, b) -> new SubjectMarker(Math.max(a.revokedBeforeMs, b.revokedBeforeMs),
+                        Math.max(a.expiresAtMs, b.expiresAtMs)));
+    }
+
+    /**
+     * Whether a token has been revoked
+     *
+     * @param jti Token id (nullable)
+     * @param subject Token subject (nullable)
+     * @param issuedAtMs Token iat in epoch millis, or -1 when unknown
+     */
+    public boolean isRevoked(String jti, String subject, long issuedAtMs) {
+        if (subject != null && !subjectMarkers.isEmpty()) {
+            SubjectMarker marker = subjectMarkers.get(subject);
+            // iat has second precision, so a token from the same second as the marker is revoked too
+            if (marker != null && (issuedAtMs < 0 || issuedAtMs <= marker.revokedBeforeMs)) {
+                return true;
+            }
+        }
+        if (jti == null || !bloom.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAtMs = revokedJtis.get(jti);
+        return expiresAtMs != null && expiresAtMs > System.currentTimeMillis();
+    }
+
+    /**
+     * Drop markers whose tokens have all expired and rebuild the Bloom filter
+     */
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedJtis.values().removeIf(exp -> exp <= now);
+        subjectMarkers.values().removeIf(marker -> marker.expiresAtMs <= now);
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(
+                Math.max(expectedInsertions, revokedJtis.size() * 2), falsePositiveRate);
+        revokedJtis.keySet().forEach(rebuilt::put);
+        bloom = rebuilt;
+    }
+
+    public int revokedTokenCount() {
+        return revokedJtis.size();
+    }
+
+    public int subjectMarkerCount() {
+        return subjectMarkers.size();
+    }
+
+    private record SubjectMarker(long revokedBeforeMs, long expiresAtMs) {
+    }
+}
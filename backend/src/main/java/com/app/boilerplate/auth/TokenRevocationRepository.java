@@ -0,0 +1,20 @@
+package com.app.boilerplate.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from TokenRevocation r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
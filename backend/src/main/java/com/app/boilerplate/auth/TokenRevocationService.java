@@ -0,0 +1,306 @@
+package com.app.boilerplate.auth;
+
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide access-token revocation
+ *
+ * Revocations are checked against an in-memory {@link TokenRevocationList}, so
+ * {@link JwtAuthFilter} never pays a DB round trip. Each revocation is also stored in
+ * token_revocations (for nodes that start later) and broadcast with Postgres NOTIFY in the
+ * same transaction. Every node keeps a dedicated connection LISTENing on the channel and
+ * applies incoming markers as soon as the revoking transaction commits. The table is read
+ * after LISTEN succeeds (at startup and after every reconnect), so nothing committed in
+ * between is missed. The listener connection uses TCP keepalive and a socket timeout, and
+ * runs SELECT 1 every liveness-interval-ms: a half-open connection never reports an error
+ * on its own, so the liveness query is what triggers the reconnect and reload.
+ *
+ * Notification payloads:
+ * - {@code J|<expiresAtMs>|<jti>}
+ * - {@code U|<revokedBeforeMs>|<expiresAtMs>|<subject>}
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    static final String CHANNEL = "token_revocations";
+
+    private final TokenRevocationList revocationList;
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final long accessValidityMs;
+    private final boolean listenEnabled;
+    private final long pollTimeoutMs;
+    private final long livenessIntervalMs;
+    private final long socketTimeoutMs;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  DataSourceProperties dataSourceProperties,
+                                  @Value("${app.jwt.access-validity-ms}") long accessValidityMs,
+                                  @Value("${app.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                  @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${app.jwt.revocation.listen.enabled:true}") boolean listenEnabled,
+                                  @Value("${app.jwt.revocation.listen.poll-timeout-ms:500}") long pollTimeoutMs,
+                                  @Value("${app.jwt.revocation.listen.liveness-interval-ms:10000}") long livenessIntervalMs,
+                                  @Value("${app.jwt.revocation.listen.socket-timeout-ms:30000}") long socketTimeoutMs) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.accessValidityMs = accessValidityMs;
+        this.listenEnabled = listenEnabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.livenessIntervalMs = livenessIntervalMs;
+        this.socketTimeoutMs = socketTimeoutMs;
+        this.revocationList = new TokenRevocationList(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Whether a verified access token has been revoked (memory only, no I/O)
+     */
+    public boolean isRevoked(ParsedToken token) {
+        long issuedAtMs = token.issuedAt() != null ? token.issuedAt().toEpochMilli() : -1;
+        return revocationList.isRevoked(token.id(), token.subject(), issuedAtMs);
+    }
+
+    /**
+     * Revoke a single access token on every node until it expires
+     *
+     * @param token Verified access token
+     */
+    @Transactional
+    public void revokeToken(ParsedToken token) {
+        if (token.id() == null || token.expiresAt() == null) {
+            return;
+        }
+        long expiresAtMs = token.expiresAt().toEpochMilli();
+        revocationList.revokeJti(token.id(), expiresAtMs);
+
+        TokenRevocation row = new TokenRevocation();
+        row.setJti(token.id());
+        row.setExpiresAt(token.expiresAt());
+        tokenRevocationRepository.save(row);
+        publish("J|" + expiresAtMs + "|" + token.id());
+    }
+
+    /**
+     * Revoke every access token of a subject issued up to now, on every node
+     *
+     * @param subject Token subject (user email)
+     */
+    @Transactional
+    public void revokeAllForSubject(String subject) {
+        long now = System.currentTimeMillis();
+        long expiresAtMs = now + accessValidityMs;
+        revocationList.revokeSubjectBefore(subject, now, expiresAtMs);
+
+        TokenRevocation row = new TokenRevocation();
+        row.setSubject(subject);
+        row.setRevokedBefore(Instant.ofEpochMilli(now));
+        row.setExpiresAt(Instant.ofEpochMilli(expiresAtMs));
+        tokenRevocationRepository.save(row);
+        publish("U|" + now + "|" + expiresAtMs + "|" + subject);
+    }
+
+    /**
+     * Load persisted revocations and start listening for other nodes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!listenEnabled) {
+            loadFromTable();
+            return;
+        }
+        // LISTEN before reading the table, so a revocation committed in between is not missed
+        Connection connection = null;
+        try {
+            connection = listen();
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Revocation listener could not connect, retrying in the background", e);
+        }
+        loadFromTable();
+        running = true;
+        Connection listening = connection;
+        listenerThread = new Thread(() -> listenLoop(listening), "token-revocation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * Expire in-memory markers and delete expired rows
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        revocationList.purgeExpired();
+        tokenRevocationRepository.deleteExpired(Instant.now());
+    }
+
+    TokenRevocationList revocationList() {
+        return revocationList;
+    }
+
+    /**
+     * Apply a NOTIFY payload from any node (including this one; markers are idempotent)
+     */
+    void apply(String payload) {
+        try {
+            if (payload.startsWith("J|")) {
+                int sep = payload.indexOf('|', 2);
+                revocationList.revokeJti(payload.substring(sep + 1), Long.parseLong(payload.substring(2, sep)));
+            } else if (payload.startsWith("U|")) {
+                int first = payload.indexOf('|', 2);
+                int second = payload.indexOf('|', first + 1);
+                revocationList.revokeSubjectBefore(payload.substring(second + 1),
+                        Long.parseLong(payload.substring(2, first)),
+                        Long.parseLong(payload.substring(first + 1, second)));
+            } else {
+                logger.warn("Ignoring unknown revocation payload");
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed revocation payload", e);
+        }
+    }
+
+    private void publish(String payload) {
+        // Delivered to listeners only when the surrounding transaction commits
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    private void loadFromTable() {
+        int loaded = 0;
+        for (TokenRevocation row : tokenRevocationRepository.findByExpiresAtAfter(Instant.now())) {
+            long expiresAtMs = row.getExpiresAt().toEpochMilli();
+            if (row.getJti() != null) {
+                revocationList.revokeJti(row.getJti(), expiresAtMs);
+            } else {
+                revocationList.revokeSubjectBefore(row.getSubject(), row.getRevokedBefore().toEpochMilli(), expiresAtMs);
+            }
+            loaded++;
+        }
+        logger.info("Loaded {} token revocations", loaded);
+    }
+
+    /**
+     * Dedicated (non-pooled) connection for LISTEN
+     */
+    Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        if (dataSourceProperties.determineUsername() != null) {
+            properties.setProperty("user", dataSourceProperties.determineUsername());
+        }
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("socketTimeout",
+                String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(socketTimeoutMs))));
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private Connection listen() throws SQLException {
+        Connection connection = openListenConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        return connection;
+    }
+
+    private void listenLoop(Connection connection) {
+        long backoffMs = 1_000;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = listen();
+                    // Catch up on anything committed while the listener was down
+                    loadFromTable();
+                }
+                backoffMs = 1_000;
+                receive(connection);
+            } catch (SQLException | RuntimeException e) {
+                closeQuietly(connection);
+                connection = null;
+                if (!running) {
+                    return;
+                }
+                logger.warn("Revocation listener disconnected, retrying in {}ms", backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    /**
+     * Apply notifications until stopped; throws when the connection fails its liveness check
+     */
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long nextCheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(livenessIntervalMs);
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeoutMs);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    apply(notification.getParameter());
+                }
+            }
+            if (System.nanoTime() - nextCheck >= 0) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                nextCheck = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(livenessIntervalMs);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing revocation listener connection", e);
+        }
+    }
+}
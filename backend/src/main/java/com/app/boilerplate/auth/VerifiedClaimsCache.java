@@ -0,0 +1,122 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.common.util.ThreadScratch;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already-verified JWT claims
+ *
+ * Keyed by a SHA-256 digest of the compact token so raw tokens are never held as map keys.
+ * Entries are only inserted after a successful signature check and are dropped once the
+ * token's {@code exp} has passed, so a hit can never outlive the token itself.
+ * When the cache is full, expired entries are purged first; if it is still full the new
+ * entry is simply not cached.
+ */
+public class VerifiedClaimsCache {
+
+    private static final ThreadScratch<MessageDigest> SHA256 = new ThreadScratch<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    VerifiedClaimsCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Look up verified claims for a token
+     *
+     * @param token Compact JWT string
+     * @return Cached verification result, or null if absent or expired
+     */
+    ParsedToken get(String token) {
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMs <= System.currentTimeMillis()) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.parsed;
+    }
+
+    /**
+     * Remember claims of a token whose signature has just been verified
+     *
+     * Invalid results and tokens without an expiration are never cached.
+     */
+    void put(String token, ParsedToken parsed) {
+        if (!parsed.isValid() || parsed.expiresAt() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            purgeExpired();
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(digest(token), new Entry(parsed, parsed.expiresAt().toEpochMilli()));
+    }
+
+    /**
+     * Drop every entry whose token has expired
+     */
+    void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAtMs <= now && entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        });
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA256.acquire();
+        byte[] hash;
+        try {
+            md.reset();
+            hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        } finally {
+            SHA256.release(md);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    private record Entry(ParsedToken parsed, long expiresAtMs) {
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public record Stats(long hits, long misses, long evictions, int size, int maxSize) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.boilerplate.auth.dto;
+
+/**
+ * Logout request DTO
+ *
+ * The refresh token is optional; when present its whole rotation family is revoked too.
+ */
+public class LogoutRequest {
+
+    private String refreshToken;
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
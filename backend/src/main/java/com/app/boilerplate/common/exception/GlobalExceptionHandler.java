@@ -1,5 +1,9 @@
 package com.app.boilerplate.common.exception;
 
+import com.app.boilerplate.auth.PasswordHashingRejectedException;
+import com.app.boilerplate.common.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -17,4 +21,14 @@ public class GlobalExceptionHandler {
                 .collect(Collectors.toMap(e -> e.getField(), e -> e.getDefaultMessage(), (a, b) -> a));
         return ResponseEntity.badRequest().body(errors);
     }
+
+    /**
+     * Login/register when the password hashing pool is saturated: fail fast instead of queueing
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleHashingRejected(PasswordHashingRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse("Server is busy, please try again shortly", "SERVICE_UNAVAILABLE"));
+    }
 }
@@ -0,0 +1,253 @@
+package com.app.boilerplate.common.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntPredicate;
+
+/**
+ * Pass-through response wrapper that counts what the handler writes
+ *
+ * Nothing is buffered: writes go straight to the container's stream or writer. The first
+ * captureLimit bytes (chars for writer output) can be copied aside for logging; whether to
+ * capture is decided on the first write, once the status is known, by captureForStatus.
+ * Writer output is counted in encoded bytes, not chars. {@link #reset()} and
+ * {@link #resetBuffer()} discard the count and the capture along with the response buffer.
+ */
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final IntPredicate captureForStatus;
+    private long written;
+    private Boolean capturing;
+    private byte[] capturedBytes;
+    private int capturedLength;
+    private StringBuilder capturedChars;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    // Charset of writer output, fixed once the writer is handed out; null means UTF-8 (counted without encoding)
+    private Charset writerCharset;
+
+    CountingResponseWrapper(HttpServletResponse response, int captureLimit, IntPredicate captureForStatus) {
+        super(response);
+        this.captureLimit = captureLimit;
+        this.captureForStatus = captureForStatus;
+    }
+
+    /**
+     * Bytes written through the output stream or (encoded) through the writer
+     */
+    long written() {
+        return written;
+    }
+
+    /**
+     * Start of the body as written, or null if it was not captured
+     */
+    String capturedBody() {
+        if (capturedChars != null) {
+            return capturedChars.toString();
+        }
+        if (capturedBytes != null) {
+            return new String(capturedBytes, 0, capturedLength, charset());
+        }
+        return null;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            PrintWriter delegate = super.getWriter();
+            writerCharset = charset();
+            if (StandardCharsets.UTF_8.equals(writerCharset)) {
+                writerCharset = null;
+            }
+            writer = new PrintWriter(new CountingWriter(delegate));
+        }
+        return writer;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearCount();
+        // The content type, and with it the writer's charset, may be set again
+        writer = null;
+        outputStream = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearCount();
+    }
+
+    private void clearCount() {
+        written = 0;
+        capturing = null;
+        capturedBytes = null;
+        capturedLength = 0;
+        capturedChars = null;
+    }
+
+    private Charset charset() {
+        try {
+            return Charset.forName(getCharacterEncoding());
+        } catch (RuntimeException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private long encodedLength(CharSequence chars, int start, int end) {
+        if (writerCharset != null) {
+            return writerCharset.encode(CharBuffer.wrap(chars, start, end)).remaining();
+        }
+        long bytes = 0;
+        for (int i = start; i < end; i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                // Each half of a pair counts for half of its 4-byte sequence
+                bytes += 2;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private boolean capturing() {
+        if (capturing == null) {
+            capturing = captureLimit > 0 && captureForStatus.test(getStatus());
+        }
+        return capturing;
+    }
+
+    private void captureBytes(byte[] bytes, int offset, int length) {
+        if (capturedBytes == null) {
+            capturedBytes = new byte[captureLimit];
+        }
+        int count = Math.min(length, captureLimit - capturedLength);
+        if (count > 0) {
+            System.arraycopy(bytes, offset, capturedBytes, capturedLength, count);
+            capturedLength += count;
+        }
+    }
+
+    private void captureChars(CharSequence chars, int start, int end) {
+        if (capturedChars == null) {
+            capturedChars = new StringBuilder(Math.min(captureLimit, 256));
+        }
+        int count = Math.min(end - start, captureLimit - capturedChars.length());
+        if (count > 0) {
+            capturedChars.append(chars, start, start + count);
+        }
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            written++;
+            if (capturing() && capturedLength < captureLimit) {
+                if (capturedBytes == null) {
+                    capturedBytes = new byte[captureLimit];
+                }
+                capturedBytes[capturedLength++] = (byte) b;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            written += length;
+            if (capturing()) {
+                captureBytes(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+
+    private final class CountingWriter extends Writer {
+
+        private final Writer delegate;
+
+        CountingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            delegate.write(chars, offset, length);
+            CharBuffer buffer = CharBuffer.wrap(chars);
+            written += encodedLength(buffer, offset, offset + length);
+            if (capturing()) {
+                captureChars(buffer, offset, offset + length);
+            }
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            delegate.write(text, offset, length);
+            written += encodedLength(text, offset, offset + length);
+            if (capturing()) {
+                captureChars(text, offset, offset + length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
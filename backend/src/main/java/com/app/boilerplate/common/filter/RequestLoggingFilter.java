@@ -1,61 +1,117 @@
 package com.app.boilerplate.common.filter;
 
+import com.app.boilerplate.common.latency.RouteLatencyRecorder;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 /**
  * Filter to log all HTTP requests and responses
+ *
+ * Logs method, URI, status, response size and duration without buffering anything: the
+ * response is wrapped only to count what is written ({@link CountingResponseWrapper}), so
+ * the cost does not grow with the payload. Requests under 400 are logged at the
+ * app.request-logging.sample-rate; errors always are. Log arguments are only built for
+ * requests that are actually logged.
+ *
+ * Bodies (first capture-body.max-bytes) are logged for requests matching
+ * app.request-logging.capture-body.paths (request and response) and for responses with a
+ * status of capture-body.min-status or above (response only). String values of JSON fields
+ * whose name contains password, token or secret (password, refreshToken, accessToken, ...)
+ * are replaced with [REDACTED] before logging, including values cut off at max-bytes.
+ *
+ * Every request's duration also goes to the {@link RouteLatencyRecorder}, keyed by the
+ * matched route template rather than the raw URI.
  */
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
 
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+    // "name": "value" where the name looks secret; the closing quote may be cut off by max-bytes
+    private static final Pattern SECRET_FIELD = Pattern.compile(
+            "(\"[^\"]*(?i:password|token|secret)[^\"]*\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*(?:\"|\\\\?$)");
+
+    private final RouteLatencyRecorder latencyRecorder;
+    private final double sampleRate;
+    private final List<String> captureBodyPaths;
+    private final int captureBodyMinStatus;
+    private final int captureBodyMaxBytes;
+
+    public RequestLoggingFilter(RouteLatencyRecorder latencyRecorder,
+                                @Value("${app.request-logging.sample-rate:1.0}") double sampleRate,
+                                @Value("${app.request-logging.capture-body.paths:}") List<String> captureBodyPaths,
+                                @Value("${app.request-logging.capture-body.min-status:500}") int captureBodyMinStatus,
+                                @Value("${app.request-logging.capture-body.max-bytes:1024}") int captureBodyMaxBytes) {
+        this.latencyRecorder = latencyRecorder;
+        this.sampleRate = sampleRate;
+        this.captureBodyPaths = captureBodyPaths.stream().filter(StringUtils::hasText).map(String::trim).toList();
+        this.captureBodyMinStatus = captureBodyMinStatus;
+        this.captureBodyMaxBytes = captureBodyMaxBytes;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
-        // Wrap request and response to cache content
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean captureRoute = captureBodyMaxBytes > 0 && matchesCapturePath(request.getRequestURI());
+        HttpServletRequest loggedRequest = captureRoute
+                ? new ContentCachingRequestWrapper(request, captureBodyMaxBytes)
+                : request;
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response, captureBodyMaxBytes,
+                status -> captureRoute || status >= captureBodyMinStatus);
 
+        boolean completed = false;
         try {
-            // Proceed with the filter chain
-            filterChain.doFilter(requestWrapper, responseWrapper);
+            filterChain.doFilter(loggedRequest, countingResponse);
+            completed = true;
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
-
-            // Log the request
-            logRequest(requestWrapper, responseWrapper, duration);
-
-            // Copy the cached response content to the original response
-            responseWrapper.copyBodyToResponse();
+            long duration = System.nanoTime() - startTime;
+            int status = completed ? countingResponse.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+            latencyRecorder.record(request.getMethod(),
+                    (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE), status, duration);
+            if (logger.isInfoEnabled() && (status >= 400 || sampled())) {
+                logRequest(loggedRequest, countingResponse, status, duration);
+            }
         }
     }
 
-    private void logRequest(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, long duration) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
+    private void logRequest(HttpServletRequest request, CountingResponseWrapper response, int status, long durationNanos) {
         String queryString = request.getQueryString();
-        int status = response.getStatus();
-
-        String fullUri = queryString != null ? uri + "?" + queryString : uri;
-
-        // Basic request log
-        logger.info("HTTP {} {} - Status: {} - Duration: {}ms", method, fullUri, status, duration);
+        String uri = queryString != null ? request.getRequestURI() + "?" + queryString : request.getRequestURI();
+        double durationMs = durationNanos / 100_000 / 10.0;
+
+        String responseBody = redact(response.capturedBody());
+        String requestBody = request instanceof ContentCachingRequestWrapper cached
+                ? redact(new String(cached.getContentAsByteArray(), StandardCharsets.UTF_8))
+                : null;
+        if (responseBody != null || requestBody != null) {
+            logger.info("HTTP {} {} - Status: {} - Bytes: {} - Duration: {}ms - Request body: {} - Response body: {}",
+                    request.getMethod(), uri, status, response.written(), durationMs, requestBody, responseBody);
+        } else {
+            logger.info("HTTP {} {} - Status: {} - Bytes: {} - Duration: {}ms",
+                    request.getMethod(), uri, status, response.written(), durationMs);
+        }
 
         // Detailed log in DEBUG mode
         if (logger.isDebugEnabled()) {
@@ -70,6 +126,29 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Replace the values of secret-looking JSON fields
+     */
+    static String redact(String body) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+        return SECRET_FIELD.matcher(body).replaceAll("$1\"[REDACTED]\"");
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private boolean matchesCapturePath(String path) {
+        for (String pattern : captureBodyPaths) {
+            if (PATHS.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         // Don't log health check and actuator endpoints
@@ -0,0 +1,29 @@
+package com.app.boilerplate.common.latency;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Request latency percentiles per route (ROLE_ADMIN: users.role = 'ADMIN')
+ */
+@RestController
+@RequestMapping("/api/admin/latency")
+public class LatencyAdminController {
+
+    private final RouteLatencyRecorder recorder;
+
+    public LatencyAdminController(RouteLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * p50/p90/p99/p99.9/max per route template, method and status class
+     *
+     * @return LatencyReport for the last completed interval (app.latency.interval-ms) and since startup
+     */
+    @GetMapping
+    public LatencyReport latency() {
+        return recorder.report();
+    }
+}
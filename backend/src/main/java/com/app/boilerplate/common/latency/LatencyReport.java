@@ -0,0 +1,14 @@
+package com.app.boilerplate.common.latency;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Per-route latency for the last completed interval and since startup
+ *
+ * @param intervalStart Start of the last completed interval (null before the first rollover)
+ * @param intervalEnd End of the last completed interval
+ */
+public record LatencyReport(Instant intervalStart, Instant intervalEnd,
+                            List<RouteLatency> interval, List<RouteLatency> total) {
+}
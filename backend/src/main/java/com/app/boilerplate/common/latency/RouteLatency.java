@@ -0,0 +1,8 @@
+package com.app.boilerplate.common.latency;
+
+/**
+ * Latency percentiles of one route, method and status class (milliseconds)
+ */
+public record RouteLatency(String method, String route, String status, long count,
+                           double p50, double p90, double p99, double p999, double max) {
+}
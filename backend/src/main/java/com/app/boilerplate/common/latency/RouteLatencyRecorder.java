@@ -0,0 +1,206 @@
+package com.app.boilerplate.common.latency;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Request latency histograms per route template, method and status class
+ *
+ * Each key gets an HdrHistogram {@link Recorder}: recording is wait-free and, once a key has
+ * been seen, allocation-free (a map lookup by route template, then a fixed slot per method and
+ * status class), so it runs for every request. Methods outside the standard set are recorded
+ * as OTHER and unusual statuses as "other", so clients cannot create keys at will.
+ *
+ * {@link #rollover()} swaps out the recording interval every app.latency.interval-ms, keeps it
+ * for {@link #report()} (and adds it to the since-startup totals), and logs a one-line summary
+ * per active route.
+ *
+ * Values are recorded in microseconds, clamped to 1 us .. highest-trackable-ms, with
+ * significant-digits precision (2 = within 1%).
+ */
+@Component
+public class RouteLatencyRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteLatencyRecorder.class);
+
+    /**
+     * Route of requests no handler mapping matched (404s, static resources)
+     */
+    public static final String UNMATCHED = "UNMATCHED";
+
+    static final String OTHER_METHOD = "OTHER";
+
+    private static final String[] METHODS = {
+            "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE", OTHER_METHOD};
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx", "other"};
+    private static final Comparator<RouteLatency> ORDER = Comparator.comparing(RouteLatency::route)
+            .thenComparing(RouteLatency::method)
+            .thenComparing(RouteLatency::status);
+
+    private final long highestTrackableMicros;
+    private final int significantDigits;
+    private final boolean logSummary;
+    // Route template -> histograms per method and status class (index method * STATUS_CLASSES.length + status class)
+    private final ConcurrentHashMap<String, AtomicReferenceArray<RouteHistograms>> routes = new ConcurrentHashMap<>();
+    private volatile Instant intervalStart;
+    private volatile Instant intervalEnd;
+
+    public RouteLatencyRecorder(@Value("${app.latency.highest-trackable-ms:60000}") long highestTrackableMs,
+                                @Value("${app.latency.significant-digits:2}") int significantDigits,
+                                @Value("${app.latency.log-summary:true}") boolean logSummary) {
+        this.highestTrackableMicros = TimeUnit.MILLISECONDS.toMicros(highestTrackableMs);
+        this.significantDigits = significantDigits;
+        this.logSummary = logSummary;
+    }
+
+    /**
+     * Record one request
+     *
+     * @param route Route template (e.g. /api/admin/users/{id}); null for unmatched requests
+     */
+    public void record(String method, String route, int status, long durationNanos) {
+        String routeKey = route != null ? route : UNMATCHED;
+        AtomicReferenceArray<RouteHistograms> slots = routes.get(routeKey);
+        if (slots == null) {
+            slots = routes.computeIfAbsent(routeKey, k -> new AtomicReferenceArray<>(METHODS.length * STATUS_CLASSES.length));
+        }
+        int methodIndex = methodIndex(method);
+        int statusIndex = statusClassIndex(status);
+        int slot = methodIndex * STATUS_CLASSES.length + statusIndex;
+        RouteHistograms histograms = slots.get(slot);
+        if (histograms == null) {
+            Key key = new Key(METHODS[methodIndex], routeKey, STATUS_CLASSES[statusIndex]);
+            slots.compareAndSet(slot, null, new RouteHistograms(key, highestTrackableMicros, significantDigits));
+            histograms = slots.get(slot);
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        histograms.recorder.recordValue(Math.max(1, Math.min(micros, highestTrackableMicros)));
+    }
+
+    /**
+     * Close the current interval, fold it into the totals and log the summary
+     */
+    @Scheduled(fixedRateString = "${app.latency.interval-ms:60000}", initialDelayString = "${app.latency.interval-ms:60000}")
+    public void rollover() {
+        Instant start = intervalEnd;
+        List<RouteLatency> summary = new ArrayList<>();
+        for (RouteHistograms histograms : histograms()) {
+            Histogram interval = histograms.recorder.getIntervalHistogram();
+            synchronized (histograms) {
+                histograms.lastInterval = interval;
+                histograms.total.add(interval);
+            }
+            if (interval.getTotalCount() > 0) {
+                summary.add(latency(histograms.key, interval));
+            }
+        }
+        intervalStart = start;
+        intervalEnd = Instant.now();
+
+        if (logSummary && logger.isInfoEnabled()) {
+            summary.sort(ORDER);
+            for (RouteLatency route : summary) {
+                logger.info("Latency {} {} {} - count: {} - p50: {}ms - p90: {}ms - p99: {}ms - p99.9: {}ms - max: {}ms",
+                        route.method(), route.route(), route.status(), route.count(),
+                        route.p50(), route.p90(), route.p99(), route.p999(), route.max());
+            }
+        }
+    }
+
+    /**
+     * Percentiles of the last completed interval and since startup (routes with requests only)
+     */
+    public LatencyReport report() {
+        List<RouteLatency> interval = new ArrayList<>();
+        List<RouteLatency> total = new ArrayList<>();
+        for (RouteHistograms histograms : histograms()) {
+            synchronized (histograms) {
+                if (histograms.lastInterval != null && histograms.lastInterval.getTotalCount() > 0) {
+                    interval.add(latency(histograms.key, histograms.lastInterval));
+                }
+                if (histograms.total.getTotalCount() > 0) {
+                    total.add(latency(histograms.key, histograms.total));
+                }
+            }
+        }
+        interval.sort(ORDER);
+        total.sort(ORDER);
+        return new LatencyReport(intervalStart, intervalEnd, interval, total);
+    }
+
+    private List<RouteHistograms> histograms() {
+        List<RouteHistograms> all = new ArrayList<>();
+        for (AtomicReferenceArray<RouteHistograms> slots : routes.values()) {
+            for (int i = 0; i < slots.length(); i++) {
+                RouteHistograms histograms = slots.get(i);
+                if (histograms != null) {
+                    all.add(histograms);
+                }
+            }
+        }
+        return all;
+    }
+
+    private static RouteLatency latency(Key key, Histogram histogram) {
+        return new RouteLatency(key.method(), key.route(), key.status(), histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET" -> 0;
+            case "HEAD" -> 1;
+            case "POST" -> 2;
+            case "PUT" -> 3;
+            case "PATCH" -> 4;
+            case "DELETE" -> 5;
+            case "OPTIONS" -> 6;
+            case "TRACE" -> 7;
+            default -> METHODS.length - 1;
+        };
+    }
+
+    private static int statusClassIndex(int status) {
+        int index = status / 100 - 1;
+        return index >= 0 && index < STATUS_CLASSES.length - 1 ? index : STATUS_CLASSES.length - 1;
+    }
+
+    private record Key(String method, String route, String status) {
+    }
+
+    private static final class RouteHistograms {
+
+        final Key key;
+        final Recorder recorder;
+        final Histogram total;
+        // Guarded by this
+        Histogram lastInterval;
+
+        RouteHistograms(Key key, long highestTrackableMicros, int significantDigits) {
+            this.key = key;
+            recorder = new Recorder(1, highestTrackableMicros, significantDigits);
+            total = new Histogram(1, highestTrackableMicros, significantDigits);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.boilerplate.common.util;
+
+import java.util.Map;
+
+/**
+ * One preallocated {@link AuditRingBuffer} slot, overwritten in place for every event
+ *
+ * Producers write the plain fields and then {@link #published}; the consumer reads the
+ * fields only after seeing its sequence there.
+ */
+final class AuditEvent {
+
+    long timestamp;
+    String event;
+    String userId;
+    Map<String, Object> details;
+    // Sequence of the event last published into this slot
+    volatile long published = -1;
+
+    void clear() {
+        event = null;
+        userId = null;
+        details = null;
+    }
+}
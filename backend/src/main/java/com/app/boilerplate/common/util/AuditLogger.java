@@ -1,19 +1,111 @@
 package com.app.boilerplate.common.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * Utility for logging audit events (auth, security, data changes)
+ *
+ * Events are written asynchronously: {@link #log} copies the event into a preallocated slot
+ * of a bounded ring ({@link AuditRingBuffer}) and returns; a single writer thread drains it
+ * and writes each batch as NDJSON lines ({"ts","event","userId","details"}) to the "audit"
+ * logger in one call. When the ring is full, app.audit.full-policy decides:
+ *
+ * - BLOCK: wait for a free slot
+ * - DROP: discard the event, counted as audit.dropped
+ * - SPILL (default): write the event on the calling thread, counted as audit.spilled
+ *
+ * The writer wakes every 10 ms, or as soon as a full batch is waiting. Pending events are
+ * written on shutdown; events logged after that are written directly.
+ *
+ * Every event is also counted as audit.events{event}; authentication failures additionally
+ * as auth.failures{reason}.
  */
 @Component
 public class AuditLogger {
 
+    public enum FullPolicy { BLOCK, DROP, SPILL }
+
     private static final Logger logger = LoggerFactory.getLogger("audit");
+    private static final Logger errors = LoggerFactory.getLogger(AuditLogger.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int FULL_YIELDS = 100;
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    private final MeterRegistry meterRegistry;
+    private final FullPolicy fullPolicy;
+    private final int batchSize;
+    private final Consumer<String> sink;
+    private final AuditRingBuffer ring;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentHashMap<String, Counter> eventCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Thread writer;
+    // log() calls between checking closed and publishing; close() waits for these before the final drain
+    private final AtomicInteger producing = new AtomicInteger();
+
+    // Writer thread state
+    private final StringWriter batch = new StringWriter();
+    private JsonGenerator batchGenerator;
+    private final Consumer<AuditEvent> appendToBatch = this::appendToBatch;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondPrefix;
+
+    private volatile boolean writerParked;
+    private volatile boolean closed;
+
+    @Autowired
+    public AuditLogger(MeterRegistry meterRegistry,
+                       @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                       @Value("${app.audit.batch-size:256}") int batchSize,
+                       @Value("${app.audit.full-policy:SPILL}") FullPolicy fullPolicy) {
+        this(meterRegistry, bufferSize, batchSize, fullPolicy, logger::info);
+    }
+
+    AuditLogger(MeterRegistry meterRegistry, int bufferSize, int batchSize, FullPolicy fullPolicy, Consumer<String> sink) {
+        this.meterRegistry = meterRegistry;
+        this.fullPolicy = fullPolicy;
+        this.batchSize = batchSize;
+        this.sink = sink;
+        this.ring = new AuditRingBuffer(bufferSize);
+        this.dropped = Counter.builder("audit.dropped")
+                .description("Audit events discarded because the buffer was full")
+                .register(meterRegistry);
+        this.spilled = Counter.builder("audit.spilled")
+                .description("Audit events written on the calling thread because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("audit.buffer.pending", ring, AuditRingBuffer::pending)
+                .description("Audit events waiting for the writer")
+                .register(meterRegistry);
+
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
 
     /**
      * Log an audit event
@@ -23,13 +115,39 @@ public class AuditLogger {
      * @param details Additional details about the event
      */
     public void log(String event, String userId, Map<String, Object> details) {
-        Map<String, Object> auditData = new HashMap<>();
-        auditData.put("event", event);
-        auditData.put("userId", userId);
-        auditData.put("timestamp", System.currentTimeMillis());
-        auditData.put("details", details);
-
-        logger.info("[AUDIT] {} | User: {} | Details: {}", event, userId, details);
+        long timestamp = System.currentTimeMillis();
+        long sequence = -1;
+        producing.incrementAndGet();
+        try {
+            if (!closed) {
+                sequence = claim();
+            }
+            if (sequence >= 0) {
+                AuditEvent slot = ring.slot(sequence);
+                slot.timestamp = timestamp;
+                slot.event = event;
+                slot.userId = userId;
+                slot.details = details;
+                ring.publish(sequence);
+            }
+        } finally {
+            producing.decrementAndGet();
+        }
+        if (sequence >= 0) {
+            // Waking the writer costs more than the whole log call; below a batch it wakes itself
+            if (writerParked && ring.pending() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+        } else if (closed || fullPolicy == FullPolicy.SPILL) {
+            if (!closed) {
+                spilled.increment();
+            }
+            writeDirect(timestamp, event, userId, details);
+        } else {
+            dropped.increment();
+        }
+        eventCounters.computeIfAbsent(event, e -> Counter.builder("audit.events").tag("event", e).register(meterRegistry))
+                .increment();
     }
 
     /**
@@ -50,6 +168,8 @@ public class AuditLogger {
      * Log authentication failure
      */
     public void logAuthFailure(String identifier, String reason) {
+        failureCounters.computeIfAbsent(reason, r -> Counter.builder("auth.failures").tag("reason", r).register(meterRegistry))
+                .increment();
         log("AUTH_FAILURE", null, Map.of("identifier", identifier, "reason", reason));
     }
 
@@ -87,4 +207,180 @@ public class AuditLogger {
     public void logLogout(String userId) {
         log("USER_LOGOUT", userId, Map.of());
     }
+
+    /**
+     * Write every pending event and stop the writer thread
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        // A producer that saw closed == false may not have claimed its slot yet; once it has
+        // published, the writer or the final drain below picks the event up
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_TIMEOUT_MS);
+        while (producing.get() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            errors.warn("Audit writer did not finish within {} ms, {} events pending", SHUTDOWN_TIMEOUT_MS, ring.pending());
+        } else {
+            // Events published between the writer's last drain and its exit
+            writeBatch();
+        }
+    }
+
+    private long claim() {
+        long sequence = ring.tryClaim();
+        if (fullPolicy != FullPolicy.BLOCK) {
+            return sequence;
+        }
+        for (int attempt = 0; sequence < 0 && !closed; attempt++) {
+            LockSupport.unpark(writer);
+            if (attempt < FULL_YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+            sequence = ring.tryClaim();
+        }
+        return sequence;
+    }
+
+    private void runWriter() {
+        while (true) {
+            if (writeBatch() > 0) {
+                continue;
+            }
+            if (closed) {
+                if (ring.pending() == 0) {
+                    return;
+                }
+                // A producer is still filling a claimed slot
+                Thread.onSpinWait();
+                continue;
+            }
+            writerParked = true;
+            if (ring.pending() < batchSize) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+    private int writeBatch() {
+        int count;
+        try {
+            if (batchGenerator == null) {
+                batchGenerator = objectMapper.getFactory().createGenerator(batch);
+                batchGenerator.setRootValueSeparator(null);
+            }
+            batch.getBuffer().setLength(0);
+            count = ring.drain(batchSize, appendToBatch);
+            if (count == 0) {
+                return 0;
+            }
+            batchGenerator.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to a StringWriter failed", e);
+        }
+        StringBuffer lines = batch.getBuffer();
+        lines.setLength(lines.length() - 1);
+        write(lines.toString());
+        return count;
+    }
+
+    private void appendToBatch(AuditEvent event) {
+        try {
+            writeJson(batchGenerator, batchTimestamp(event.timestamp), event.event, event.userId, event.details);
+            batchGenerator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void writeDirect(long timestamp, String event, String userId, Map<String, Object> details) {
+        StringWriter line = new StringWriter(128);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(line)) {
+            writeJson(generator, isoTimestamp(timestamp), event, userId, details);
+        } catch (IOException e) {
+            errors.error("Failed to format audit event {}", event, e);
+            return;
+        }
+        write(line.toString());
+    }
+
+    private void writeJson(JsonGenerator generator, String timestamp, String event, String userId,
+                           Map<String, Object> details) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ts", timestamp);
+        generator.writeStringField("event", event);
+        generator.writeStringField("userId", userId);
+        generator.writeObjectFieldStart("details");
+        if (details != null) {
+            for (Map.Entry<String, Object> detail : details.entrySet()) {
+                generator.writeFieldName(detail.getKey());
+                writeValue(generator, event, detail.getValue());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    // Writer thread: the formatted second is reused across the events within it
+    private String batchTimestamp(long timestamp) {
+        long second = Math.floorDiv(timestamp, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedSecondPrefix = secondPrefix(second);
+        }
+        return cachedSecondPrefix + millis(timestamp) + "Z";
+    }
+
+    // ISO-8601 UTC with milliseconds, e.g. 2026-01-01T12:00:00.042Z
+    private static String isoTimestamp(long timestamp) {
+        return secondPrefix(Math.floorDiv(timestamp, 1000)) + millis(timestamp) + "Z";
+    }
+
+    private static String secondPrefix(long epochSecond) {
+        String formatted = Instant.ofEpochSecond(epochSecond).toString();
+        return formatted.substring(0, formatted.length() - 1) + ".";
+    }
+
+    private static String millis(long timestamp) {
+        int millis = (int) Math.floorMod(timestamp, 1000);
+        return millis < 10 ? "00" + millis : millis < 100 ? "0" + millis : String.valueOf(millis);
+    }
+
+    // Common detail types written directly; anything else through Jackson, or as text if that fails
+    private void writeValue(JsonGenerator generator, String event, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Boolean flag) {
+            generator.writeBoolean(flag);
+        } else {
+            try {
+                generator.writeRawValue(objectMapper.writeValueAsString(value));
+            } catch (JsonProcessingException e) {
+                errors.warn("Audit event {} has a detail that cannot be serialized", event, e);
+                generator.writeString(String.valueOf(value));
+            }
+        }
+    }
+
+    private void write(String lines) {
+        try {
+            sink.accept(lines);
+        } catch (RuntimeException e) {
+            errors.error("Failed to write audit events", e);
+        }
+    }
 }
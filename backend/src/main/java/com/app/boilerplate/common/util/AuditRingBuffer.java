@@ -0,0 +1,90 @@
+package com.app.boilerplate.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated {@link AuditEvent} slots
+ *
+ * Producers claim a sequence with a CAS on {@link #claimed}, fill the slot and publish it by
+ * writing the sequence into the slot. The consumer walks sequences in order and stops at
+ * the first slot not yet published, so events come out in claim order even when producers
+ * finish out of order. A sequence can only be claimed once the consumer has moved past the
+ * slot it maps to; nothing is allocated per event.
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    // Last sequence handed to the consumer's handler; written by the consumer only
+    private volatile long consumed = -1;
+
+    AuditRingBuffer(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minCapacity - 1)) << 1;
+        slots = new AuditEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditEvent();
+        }
+        mask = capacity - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claim the next sequence, or -1 when every slot is still waiting for the consumer
+     */
+    long tryClaim() {
+        long current;
+        long next;
+        do {
+            current = claimed.get();
+            next = current + 1;
+            if (next - slots.length > consumed) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(current, next));
+        return next;
+    }
+
+    AuditEvent slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    void publish(long sequence) {
+        slot(sequence).published = sequence;
+    }
+
+    /**
+     * Consumer only: hand up to max published events to the handler in order and free their slots
+     *
+     * @return Number of events handled
+     */
+    int drain(int max, Consumer<AuditEvent> handler) {
+        long next = consumed + 1;
+        int count = 0;
+        while (count < max) {
+            AuditEvent event = slot(next);
+            if (event.published != next) {
+                break;
+            }
+            handler.accept(event);
+            event.clear();
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next - 1;
+        }
+        return count;
+    }
+
+    /**
+     * Claimed but not yet drained (including claimed slots still being filled)
+     */
+    long pending() {
+        return claimed.get() - consumed;
+    }
+}
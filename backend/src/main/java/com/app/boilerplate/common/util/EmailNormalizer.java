@@ -0,0 +1,23 @@
+package com.app.boilerplate.common.util;
+
+import java.util.Locale;
+
+/**
+ * Canonical form of email addresses
+ *
+ * Emails are stored and looked up trimmed and lower-cased, so Foo@x.com and foo@x.com are
+ * the same account. The database enforces this with a unique index on lower(email).
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    /**
+     * @param email Email as entered (nullable)
+     * @return Trimmed, lower-cased email, or null
+     */
+    public static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.boilerplate.common.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reusable per-thread scratch objects (initialized Macs, digests, buffers)
+ *
+ * Platform threads keep theirs in a ThreadLocal. Virtual threads (spring.threads.virtual.enabled)
+ * are started per request and never reused, so a ThreadLocal would build a new object every
+ * time; they borrow from a small shared pool instead. Callers must not block while holding a
+ * scratch object, so the pool never needs more than about one per carrier thread.
+ *
+ * Usage: {@code T s = scratch.acquire(); try { ... } finally { scratch.release(s); }}
+ */
+public final class ThreadScratch<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> local;
+    private final ConcurrentLinkedQueue<T> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int maxPooled;
+
+    public ThreadScratch(Supplier<T> factory) {
+        this(factory, 4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    ThreadScratch(Supplier<T> factory, int maxPooled) {
+        this.factory = factory;
+        this.local = ThreadLocal.withInitial(factory);
+        this.maxPooled = maxPooled;
+    }
+
+    public T acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return local.get();
+        }
+        T value = pool.poll();
+        if (value == null) {
+            return factory.get();
+        }
+        pooled.decrementAndGet();
+        return value;
+    }
+
+    public void release(T value) {
+        if (!Thread.currentThread().isVirtual()) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            pool.offer(value);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.boilerplate.config;
+
+import com.app.boilerplate.email.PooledJavaMailSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Properties;
+
+/**
+ * Pooled SMTP sessions (app.mail.pool.enabled, on by default)
+ *
+ * Replaces the auto-configured JavaMailSender with a {@link PooledJavaMailSender} built from
+ * the same spring.mail.* settings. spring.mail.ssl.bundle is not applied; configure SMTPS or
+ * STARTTLS through spring.mail.properties.mail.smtp.* instead.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "app.mail.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class MailSenderConfig {
+
+    private PooledJavaMailSender mailSender;
+
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties properties,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${app.mail.pool.max-sessions:4}") int maxSessions,
+                                           @Value("${app.mail.pool.max-messages-per-session:100}") int maxMessagesPerSession,
+                                           @Value("${app.mail.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs,
+                                           @Value("${app.mail.pool.validate-after-idle-ms:1000}") long validateAfterIdleMs,
+                                           @Value("${app.mail.pool.idle-timeout-ms:60000}") long idleTimeoutMs) {
+        mailSender = new PooledJavaMailSender(maxSessions, maxMessagesPerSession, borrowTimeoutMs,
+                validateAfterIdleMs, idleTimeoutMs, meterRegistry);
+        mailSender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            mailSender.setPort(properties.getPort());
+        }
+        mailSender.setUsername(properties.getUsername());
+        mailSender.setPassword(properties.getPassword());
+        mailSender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            mailSender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        mailSender.setJavaMailProperties(javaMailProperties);
+        return mailSender;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.pool.evict-interval-ms:15000}")
+    public void evictIdleSessions() {
+        if (mailSender != null) {
+            mailSender.evictIdle();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (mailSender != null) {
+            mailSender.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.boilerplate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short read-your-writes window over replica routing
+ *
+ * After a write to a key (e.g. a newly created user's email), reads of that key go to the
+ * primary for window-ms, so replication lag cannot make the write appear lost. Tracked per
+ * node only: a read served by another node right after the write may still hit a replica.
+ * A window of 0 disables tracking.
+ */
+@Component
+public class ReadYourWritesWindow {
+
+    private final long windowMs;
+    private final ConcurrentHashMap<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesWindow(@Value("${app.datasource.replicas.read-your-writes-ms:0}") long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Remember that a key was just written
+     */
+    public void recordWrite(String key) {
+        if (windowMs > 0) {
+            recentWrites.put(key, System.currentTimeMillis() + windowMs);
+        }
+    }
+
+    /**
+     * Run a read, on the primary if the key was written within the window
+     */
+    public <T> T read(String key, Supplier<T> read) {
+        if (windowMs <= 0) {
+            return read.get();
+        }
+        Long until = recentWrites.get(key);
+        if (until == null) {
+            return read.get();
+        }
+        if (until <= System.currentTimeMillis()) {
+            recentWrites.remove(key, until);
+            return read.get();
+        }
+        return ReplicaRoutingDataSource.onPrimary(read);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        recentWrites.values().removeIf(until -> until <= now);
+    }
+
+    int size() {
+        return recentWrites.size();
+    }
+}
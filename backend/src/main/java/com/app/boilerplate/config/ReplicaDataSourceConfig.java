@@ -0,0 +1,104 @@
+package com.app.boilerplate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary + read-replica connection pools (enabled with app.datasource.replicas.enabled)
+ *
+ * Replaces the auto-configured pool with a single DataSource bean: a lazy proxy over
+ * {@link ReplicaRoutingDataSource}. The primary pool uses spring.datasource.*; each replica
+ * URL gets its own read-only pool with the same credentials and spring.datasource.hikari.*
+ * settings. Flyway, JPA and JdbcTemplate all see the routed DataSource, so only read-only
+ * transactions ever reach a replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource routing;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${app.datasource.replicas.pool-size:10}") int poolSize,
+                                 @Value("${app.datasource.replicas.max-lag-ms:10000}") long maxLagMs) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        HikariDataSource primary = pool(properties, environment, registry, "primary", properties.determineUrl());
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (!StringUtils.hasText(url)) {
+                continue;
+            }
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = pool(properties, environment, registry, name, url.trim());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Do not fail startup on a replica that is down; the health check routes around it
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, replica));
+        }
+
+        routing = new ReplicaRoutingDataSource(primary, replicas, maxLagMs);
+        if (registry != null) {
+            for (ReplicaRoutingDataSource.Replica replica : routing.replicas()) {
+                Gauge.builder("db.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                        .description("Whether the replica is in rotation")
+                        .tag("replica", replica.name())
+                        .register(registry);
+            }
+        }
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        if (routing != null) {
+            routing.checkReplicas();
+        }
+    }
+
+    // Closed here rather than as beans so the context only ever sees the routed DataSource
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                  MeterRegistry registry, String name, String url) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        if (registry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        pools.add(pool);
+        return pool;
+    }
+}
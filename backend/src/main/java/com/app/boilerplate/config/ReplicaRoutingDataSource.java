@@ -0,0 +1,167 @@
+package com.app.boilerplate.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends read-only transactions to replicas
+ *
+ * A connection requested inside a {@code @Transactional(readOnly = true)} transaction comes
+ * from the next healthy replica (round robin); everything else, and any read inside
+ * {@link #onPrimary(Supplier)}, uses the primary. A replica that fails to hand out a
+ * connection is marked down and the request falls back to the primary; {@link #checkReplicas()}
+ * brings it back once it answers again within the allowed lag.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for a
+ * connection before the read-only flag is bound to the thread, and the proxy defers the
+ * real lookup to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Seconds the replica is behind; 0 when it has replayed everything it received (or is not a standby)
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * Run a read against the primary even inside a read-only transaction
+     *
+     * Only affects connections acquired inside the callback; no-op when routing is disabled.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        if (PRIMARY_ONLY.get() != null) {
+            return read.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PRIMARY_ONLY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = nextHealthy();
+            if (replica != null) {
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException e) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Per-call credentials always go to the primary; replicas are only used with their configured users
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probe every replica and update its health (connectivity and replication lag)
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(5);
+                try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                    rs.next();
+                    long lagMs = (long) (rs.getDouble(1) * 1000);
+                    if (lagMs > maxLagMs) {
+                        markDown(replica, "lagging " + lagMs + "ms");
+                    } else if (!replica.healthy) {
+                        replica.healthy = true;
+                        logger.info("Replica {} is back in rotation", replica.name());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    private Replica nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            logger.warn("Replica {} taken out of rotation: {}", replica.name(), reason);
+        }
+    }
+
+    /**
+     * A replica pool and its last known health
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+}
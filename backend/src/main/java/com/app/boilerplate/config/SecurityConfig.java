@@ -1,16 +1,18 @@
 package com.app.boilerplate.config;
 
 import com.app.boilerplate.auth.JwtAuthFilter;
+import com.app.boilerplate.auth.PasswordEncoderFactory;
+import com.app.boilerplate.auth.PasswordHashingExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,9 +26,14 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
 
+    static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
     @Value("${cors.allowed-origins:http://localhost:5173,http://localhost:3000}")
     private String allowedOrigins;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     public SecurityConfig(JwtAuthFilter jwtAuthFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
     }
@@ -39,12 +46,24 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/api/auth/**", "/.well-known/jwks.json", "/actuator/health", "/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers(prometheusOnManagementPort(managementPort)).permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    /**
+     * The Prometheus scrape is open only on management.server.port, which is not routed
+     * publicly; on the application port it needs authentication like everything else
+     */
+    static RequestMatcher prometheusOnManagementPort(int managementPort) {
+        return request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && PROMETHEUS_PATH.equals(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -59,7 +78,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordEncoderFactory passwordEncoderFactory,
+                                           PasswordHashingExecutor passwordHashingExecutor) {
+        // Calibrated BCrypt/Argon2id; hashing runs on a bounded pool, never on request threads
+        return passwordHashingExecutor.wrap(passwordEncoderFactory.create());
     }
 }
@@ -0,0 +1,145 @@
+package com.app.boilerplate.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that pin their carrier thread (spring.threads.virtual.enabled only)
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame cannot unmount,
+ * so it holds one of the few carrier threads for the whole wait. Known sources in this app:
+ * - JavaMail: SMTPTransport does its socket I/O in synchronized methods. SMTP is only sent
+ *   from the outbox's platform-thread senders, and the pool's @Scheduled eviction only pins
+ *   for the QUIT of idle sessions.
+ * - JDBC: the PostgreSQL driver (42.6+) and HikariCP 5.1 use j.u.c locks and do not pin.
+ * - Our own synchronized methods (TokenRevocationList, RouteLatencyRecorder) never block.
+ *
+ * Pins longer than app.threads.pinning.threshold-ms are streamed from JFR
+ * (jdk.VirtualThreadPinned) and timed as jvm.threads.virtual.pinned. The first pin at each
+ * call site is logged as a WARN with its stack; after that the site is only counted (DEBUG).
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 256;
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinned;
+    private final Set<String> sites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning.threshold-ms:20}") long thresholdMs,
+                                       @Value("${app.threads.pinning.stack-depth:16}") int stackDepth) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stackDepth = stackDepth;
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread waits that held their carrier thread")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Virtual threads enabled, reporting carrier pinning over {}ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("JFR is not available, virtual thread pinning is not monitored "
+                    + "(run with -Djdk.tracePinnedThreads=short instead)", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinned.record(duration);
+
+        String threadName = threadName(event.getThread());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = site(frames);
+        if (sites.size() < MAX_SITES && sites.add(site)) {
+            logger.warn("Virtual thread {} pinned its carrier for {}ms at {}{}",
+                    threadName, duration.toMillis(), site, stack(frames));
+        } else {
+            logger.debug("Virtual thread {} pinned its carrier for {}ms at {}", threadName, duration.toMillis(), site);
+        }
+    }
+
+    /**
+     * Call sites that have been reported
+     */
+    Set<String> sites() {
+        return sites;
+    }
+
+    /**
+     * Virtual threads are often unnamed (Tomcat's are tomcat-handler-N)
+     */
+    private static String threadName(RecordedThread thread) {
+        if (thread == null) {
+            return "?";
+        }
+        String name = thread.getJavaName();
+        return name != null && !name.isEmpty() ? name : "#" + thread.getJavaThreadId();
+    }
+
+    /**
+     * First frame outside the JDK: the code that blocked while pinned
+     */
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return frame(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frame(frames.get(0));
+    }
+
+    private String stack(List<RecordedFrame> frames) {
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(frames.size(), stackDepth); i++) {
+            stack.append("\n\tat ").append(frame(frames.get(i)));
+        }
+        return stack.toString();
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(" + frame.getLineNumber() + ")";
+    }
+}
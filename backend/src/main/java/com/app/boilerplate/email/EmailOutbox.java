@@ -0,0 +1,123 @@
+package com.app.boilerplate.email;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional email outbox (email_outbox)
+ *
+ * {@link #enqueue} joins the caller's transaction, so an email exists if and only if the
+ * change that triggered it committed. {@link EmailOutboxDispatcher} claims due rows in
+ * batches with FOR UPDATE SKIP LOCKED and a lease (locked_until), so any number of nodes can
+ * dispatch without sending a row twice while its lease holds; a node that dies mid-send
+ * leaves the row to be picked up again when the lease runs out (at-least-once delivery).
+ */
+@Repository
+public class EmailOutbox {
+
+    private static final TypeReference<Map<String, Object>> MODEL_TYPE = new TypeReference<>() {
+    };
+
+    private static final String CLAIM = """
+            UPDATE email_outbox o
+            SET attempts = o.attempts + 1, locked_until = now() + ? * INTERVAL '1 second'
+            FROM (
+                SELECT id FROM email_outbox
+                WHERE attempts < ? AND next_attempt_at <= now()
+                  AND (locked_until IS NULL OR locked_until < now())
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) due
+            WHERE o.id = due.id
+            RETURNING o.id, o.recipient, o.subject, o.template, o.model::text AS model, o.attempts""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String appUrl;
+
+    public EmailOutbox(JdbcTemplate jdbcTemplate,
+                       ObjectMapper objectMapper,
+                       @Value("${app.url:http://localhost:5173}") String appUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.appUrl = appUrl;
+    }
+
+    /**
+     * Queue a template email in the caller's transaction
+     *
+     * @param to Recipient
+     * @param subject Subject line
+     * @param template Thymeleaf template name
+     * @param model Template variables (must be JSON-serializable)
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String template, Map<String, Object> model) {
+        jdbcTemplate.update("INSERT INTO email_outbox (recipient, subject, template, model) VALUES (?, ?, ?, ?::jsonb)",
+                to, subject, template, toJson(model));
+    }
+
+    /**
+     * Queue the welcome email (see {@link EmailService#sendWelcome})
+     */
+    @Transactional
+    public void enqueueWelcome(String to, String name) {
+        enqueue(to, "Welcome", "email/welcome", Map.of(
+                "name", name != null ? name : "User",
+                "appUrl", appUrl));
+    }
+
+    /**
+     * Claim up to limit due rows for leaseSeconds (runs in its own short transaction)
+     */
+    List<OutboxEmail> claim(int limit, long leaseSeconds, int maxAttempts) {
+        return jdbcTemplate.query(CLAIM, (rs, rowNum) -> new OutboxEmail(
+                rs.getLong("id"),
+                rs.getString("recipient"),
+                rs.getString("subject"),
+                rs.getString("template"),
+                fromJson(rs.getString("model")),
+                rs.getInt("attempts")), leaseSeconds, maxAttempts, limit);
+    }
+
+    /**
+     * Remove a sent row
+     */
+    void delete(long id) {
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE id = ?", id);
+    }
+
+    /**
+     * Release a failed row for another attempt after delaySeconds
+     */
+    void reschedule(long id, long delaySeconds, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET locked_until = NULL, "
+                + "next_attempt_at = now() + ? * INTERVAL '1 second', last_error = ? WHERE id = ?",
+                delaySeconds, error, id);
+    }
+
+    private String toJson(Map<String, Object> model) {
+        try {
+            return objectMapper.writeValueAsString(model != null ? model : Map.of());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Email model is not serializable", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, MODEL_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt email_outbox model", e);
+        }
+    }
+}
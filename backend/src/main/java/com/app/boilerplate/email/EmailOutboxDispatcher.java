@@ -0,0 +1,198 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends queued emails from {@link EmailOutbox}
+ *
+ * A dedicated thread (not the shared @Scheduled thread, which SMTP would stall) polls every
+ * poll-interval-ms, claims up to batch-size due rows and sends them on a pool of concurrency
+ * threads, claiming again straight away while batches come back full. A sent row is deleted;
+ * a failed one is retried after initial-backoff-ms, doubling per attempt up to max-backoff-ms,
+ * and is left as a dead letter after max-attempts.
+ *
+ * The senders stay platform threads with spring.threads.virtual.enabled: JavaMail does its
+ * socket I/O inside synchronized methods, so virtual senders would pin their carriers.
+ *
+ * Metrics: email.outbox.sent, email.outbox.retried, email.outbox.dead.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutbox outbox;
+    private final EmailService emailService;
+    private final boolean enabled;
+    private final long pollIntervalMs;
+    private final int batchSize;
+    private final int concurrency;
+    private final long leaseSeconds;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+
+    private ExecutorService senders;
+    private Thread poller;
+    private volatile boolean running;
+
+    public EmailOutboxDispatcher(EmailOutbox outbox,
+                                 EmailService emailService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.mail.outbox.enabled:true}") boolean enabled,
+                                 @Value("${app.mail.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.concurrency:4}") int concurrency,
+                                 @Value("${app.mail.outbox.lease-ms:120000}") long leaseMs,
+                                 @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.mail.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                                 @Value("${app.mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs) {
+        this.outbox = outbox;
+        this.emailService = emailService;
+        this.enabled = enabled;
+        this.pollIntervalMs = pollIntervalMs;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.leaseSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(leaseMs));
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.dead = Counter.builder("email.outbox.dead").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        poller = new Thread(this::pollLoop, "email-outbox-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /**
+     * Stop claiming and let in-flight sends finish (their rows are released by the lease otherwise)
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            if (poller != null) {
+                poller.interrupt();
+                poller.join(TimeUnit.SECONDS.toMillis(10));
+            }
+            if (senders != null) {
+                senders.shutdown();
+                senders.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Claim and send one batch
+     *
+     * @return Number of rows claimed
+     */
+    int dispatchOnce() throws InterruptedException {
+        List<OutboxEmail> batch = outbox.claim(batchSize, leaseSeconds, maxAttempts);
+        List<Future<?>> inFlight = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            inFlight.add(senders.submit(() -> send(email)));
+        }
+        for (Future<?> future : inFlight) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.error("Outbox send task failed", e.getCause());
+            }
+        }
+        return batch.size();
+    }
+
+    void send(OutboxEmail email) {
+        try {
+            emailService.sendTemplate(email.recipient(), email.subject(), email.template(), email.model());
+            outbox.delete(email.id());
+            sent.increment();
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            long delayMs = backoffMs(email.attempts(), initialBackoffMs, maxBackoffMs);
+            outbox.reschedule(email.id(), TimeUnit.MILLISECONDS.toSeconds(delayMs), error);
+            if (email.attempts() >= maxAttempts) {
+                dead.increment();
+                logger.error("Giving up on outbox email {} ({}) after {} attempts: {}",
+                        email.id(), email.template(), email.attempts(), error);
+            } else {
+                retried.increment();
+                logger.warn("Outbox email {} ({}) failed, attempt {} of {}, retrying in {}ms: {}",
+                        email.id(), email.template(), email.attempts(), maxAttempts, delayMs, error);
+            }
+        }
+    }
+
+    /**
+     * Delay before the next attempt: initial, doubling per failed attempt, capped at max
+     */
+    static long backoffMs(int attempts, long initialMs, long maxMs) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(maxMs, initialMs << shift);
+    }
+
+    void useSenders(ExecutorService senders) {
+        this.senders = senders;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                int claimed;
+                do {
+                    claimed = dispatchOnce();
+                } while (running && claimed == batchSize);
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Outbox dispatch failed, retrying in {}ms", pollIntervalMs, e);
+                try {
+                    Thread.sleep(pollIntervalMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,52 +1,72 @@
 package com.app.boilerplate.email;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.activation.DataHandler;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.util.ByteArrayDataSource;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Outgoing mail (plain HTML or templates)
+ *
+ * Templates are rendered by {@link EmailTemplateRenderer} straight to UTF-8 bytes. Messages
+ * are single-part text/html with the body handed to JavaMail as those bytes; with
+ * app.mail.transfer-encoding=8bit (the default; needs an 8BITMIME server, which is near
+ * universal) JavaMail writes them as-is instead of scanning and re-encoding the whole HTML
+ * for every message. Set it to quoted-printable for servers without 8BITMIME.
+ *
+ * Every send is timed as email.send{template, outcome=success|failure}, so the failure
+ * count is the outcome=failure series. The two timers of a template are registered on its
+ * first send and reused after that.
+ */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
-
-    @Value("${spring.mail.username:}")
-    private String from;
+    static final String CONTENT_TYPE = "text/html; charset=UTF-8";
 
-    @Value("${app.mail.from:noreply@example.com}")
-    private String defaultFrom;
+    private final JavaMailSender mailSender;
+    private final EmailTemplateRenderer templateRenderer;
+    private final MeterRegistry meterRegistry;
+    private final InternetAddress fromAddress;
+    private final String transferEncoding;
+    // Template -> {success, failure}
+    private final ConcurrentHashMap<String, Timer[]> sendTimers = new ConcurrentHashMap<>();
 
-    public EmailService(JavaMailSender mailSender, TemplateEngine templateEngine) {
+    public EmailService(JavaMailSender mailSender,
+                        EmailTemplateRenderer templateRenderer,
+                        MeterRegistry meterRegistry,
+                        @Value("${spring.mail.username:}") String from,
+                        @Value("${app.mail.from:noreply@example.com}") String defaultFrom,
+                        @Value("${app.mail.transfer-encoding:8bit}") String transferEncoding) {
         this.mailSender = mailSender;
-        this.templateEngine = templateEngine;
+        this.templateRenderer = templateRenderer;
+        this.meterRegistry = meterRegistry;
+        this.transferEncoding = transferEncoding;
+        try {
+            this.fromAddress = new InternetAddress((from != null && !from.isBlank()) ? from : defaultFrom, true);
+        } catch (AddressException e) {
+            throw new IllegalStateException("Invalid sender address", e);
+        }
     }
 
     public void sendHtml(String to, String subject, String html) throws MessagingException {
-        String fromAddress = (from != null && !from.isBlank()) ? from : defaultFrom;
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        helper.setFrom(fromAddress);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(html, true);
-        mailSender.send(message);
+        send(to, subject, html.getBytes(StandardCharsets.UTF_8), "none");
     }
 
     public void sendTemplate(String to, String subject, String templateName, Map<String, Object> model) throws MessagingException {
-        Context context = new Context();
-        if (model != null) {
-            model.forEach(context::setVariable);
-        }
-        String html = templateEngine.process(templateName, context);
-        sendHtml(to, subject, html);
+        send(to, subject, templateRenderer.render(templateName, model), templateName);
     }
 
     public void sendWelcome(String to, String name, String appUrl) throws MessagingException {
@@ -69,4 +89,47 @@ public class EmailService {
                 "expiresIn", expiresIn != null ? expiresIn : "24 hours"
         ));
     }
+
+    /**
+     * Build a single-part HTML message around an already-encoded UTF-8 body
+     */
+    MimeMessage buildMessage(String to, String subject, byte[] html) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom(fromAddress);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to, true));
+        message.setSubject(subject, "UTF-8");
+        message.setDataHandler(new DataHandler(new ByteArrayDataSource(html, CONTENT_TYPE)));
+        message.setHeader("Content-Type", CONTENT_TYPE);
+        if (!"auto".equalsIgnoreCase(transferEncoding)) {
+            message.setHeader("Content-Transfer-Encoding", transferEncoding);
+        }
+        return message;
+    }
+
+    private void send(String to, String subject, byte[] html, String template) throws MessagingException {
+        long start = System.nanoTime();
+        boolean sent = false;
+        try {
+            mailSender.send(buildMessage(to, subject, html));
+            sent = true;
+        } finally {
+            Timer[] timers = sendTimers.get(template);
+            if (timers == null) {
+                timers = sendTimers.computeIfAbsent(template, this::registerSendTimers);
+            }
+            timers[sent ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] registerSendTimers(String template) {
+        return new Timer[]{sendTimer(template, "success"), sendTimer(template, "failure")};
+    }
+
+    private Timer sendTimer(String template, String outcome) {
+        return Timer.builder("email.send")
+                .description("Time to hand a message to the SMTP server")
+                .tag("template", template)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,249 @@
+package com.app.boilerplate.email;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Email template rendering with templates compiled down to static bytes plus variable slots
+ *
+ * A template is compiled by rendering it once through Thymeleaf with every variable its
+ * ${...} expressions use bound to a sentinel, then splitting the output at the sentinels: the
+ * static HTML between them is kept as UTF-8 bytes, and rendering a message only escapes and
+ * copies the variable values into place. Compilation is checked by rendering probe values
+ * both ways; a template whose output depends on variable values beyond substitution (th:if,
+ * th:utext, string functions) is rendered with Thymeleaf every time instead.
+ *
+ * Every template also gets {@code year}. Templates under templates/email are compiled and
+ * warmed up at startup.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRenderer.class);
+
+    private static final String TEMPLATE_PATTERN = "classpath:templates/email/*.html";
+    private static final char SLOT_START = '\u0001';
+    private static final char SLOT_END = '\u0002';
+    private static final Pattern EXPRESSION = Pattern.compile("\\$\\{([^}]*)}");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*'");
+    // Bare identifiers: not a property (a.b), utility object (#x) or method call (f())
+    private static final Pattern IDENTIFIER = Pattern.compile("(?<![.#\\w])[A-Za-z_]\\w*(?!\\w|\\s*\\()");
+
+    private final TemplateEngine templateEngine;
+    private final int warmUpIterations;
+    private final ConcurrentHashMap<String, Optional<CompiledTemplate>> compiled = new ConcurrentHashMap<>();
+
+    public EmailTemplateRenderer(TemplateEngine templateEngine,
+                                 @Value("${app.mail.templates.warm-up-iterations:200}") int warmUpIterations) {
+        this.templateEngine = templateEngine;
+        this.warmUpIterations = warmUpIterations;
+    }
+
+    /**
+     * Render a template to UTF-8 HTML
+     *
+     * @param template Template name (e.g. email/welcome)
+     * @param model Template variables (nullable)
+     */
+    public byte[] render(String template, Map<String, Object> model) {
+        Map<String, Object> variables = withDefaults(model);
+        CompiledTemplate compiledTemplate = compiled.computeIfAbsent(template, this::compile).orElse(null);
+        if (compiledTemplate != null) {
+            return compiledTemplate.render(variables);
+        }
+        return renderWithThymeleaf(template, variables).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compile and exercise every email template so the first real message pays nothing extra
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (String template : discoverTemplates()) {
+            Optional<CompiledTemplate> result = compiled.computeIfAbsent(template, this::compile);
+            Map<String, Object> probe = probeModel(result.map(CompiledTemplate::slotNames).orElse(Set.of()));
+            for (int i = 0; i < warmUpIterations; i++) {
+                render(template, probe);
+            }
+            logger.info("Email template {} warmed up ({})", template, result.isPresent() ? "compiled" : "thymeleaf");
+        }
+    }
+
+    boolean isCompiled(String template) {
+        return compiled.computeIfAbsent(template, this::compile).isPresent();
+    }
+
+    private Optional<CompiledTemplate> compile(String template) {
+        Set<String> names = variableNames(template);
+        if (names == null) {
+            return notCompilable(template, "template source not found");
+        }
+        Map<String, Object> sentinels = new HashMap<>();
+        for (String name : names) {
+            sentinels.put(name, SLOT_START + name + SLOT_END);
+        }
+        String output = renderWithThymeleaf(template, sentinels);
+
+        List<byte[]> statics = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = output.indexOf(SLOT_START, position)) >= 0) {
+            int end = output.indexOf(SLOT_END, start);
+            if (end < 0) {
+                return notCompilable(template, "unterminated variable");
+            }
+            String name = output.substring(start + 1, end);
+            if (!names.contains(name)) {
+                return notCompilable(template, "transformed variable");
+            }
+            statics.add(output.substring(position, start).getBytes(StandardCharsets.UTF_8));
+            slots.add(name);
+            position = end + 1;
+        }
+        if (output.indexOf(SLOT_END, position) >= 0) {
+            return notCompilable(template, "transformed variable");
+        }
+        statics.add(output.substring(position).getBytes(StandardCharsets.UTF_8));
+        CompiledTemplate candidate = new CompiledTemplate(statics.toArray(byte[][]::new), slots.toArray(String[]::new));
+
+        Map<String, Object> probe = withDefaults(probeModel(names));
+        String expected = renderWithThymeleaf(template, probe);
+        if (!expected.equals(new String(candidate.render(probe), StandardCharsets.UTF_8))) {
+            return notCompilable(template, "output depends on variable values");
+        }
+        return Optional.of(candidate);
+    }
+
+    /**
+     * Identifiers used in the template's ${...} expressions, or null without a template source
+     *
+     * Over-collecting is harmless: names that never reach the output just don't become slots.
+     * Variables referenced only outside ${...} (e.g. *{...} selections) are not supported.
+     */
+    private static Set<String> variableNames(String template) {
+        Resource source = new ClassPathResource("templates/" + template + ".html");
+        if (!source.exists()) {
+            return null;
+        }
+        String html;
+        try {
+            html = source.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+        Set<String> names = new HashSet<>();
+        Matcher expression = EXPRESSION.matcher(html);
+        while (expression.find()) {
+            Matcher identifier = IDENTIFIER.matcher(STRING_LITERAL.matcher(expression.group(1)).replaceAll(""));
+            while (identifier.find()) {
+                names.add(identifier.group());
+            }
+        }
+        return names;
+    }
+
+    private static Optional<CompiledTemplate> notCompilable(String template, String reason) {
+        logger.info("Email template {} is rendered with Thymeleaf: {}", template, reason);
+        return Optional.empty();
+    }
+
+    private String renderWithThymeleaf(String template, Map<String, Object> variables) {
+        return templateEngine.process(template, new Context(Locale.getDefault(), variables));
+    }
+
+    private static Map<String, Object> withDefaults(Map<String, Object> model) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("year", Year.now().getValue());
+        if (model != null) {
+            variables.putAll(model);
+        }
+        return variables;
+    }
+
+    // Values that would expose any escaping or transformation the compiled form does not do
+    private static Map<String, Object> probeModel(Set<String> names) {
+        Map<String, Object> probe = new HashMap<>();
+        for (String name : names) {
+            probe.put(name, "Probe " + name + " <&>\"' ü");
+        }
+        return probe;
+    }
+
+    private static List<String> discoverTemplates() {
+        try {
+            List<String> templates = new ArrayList<>();
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_PATTERN)) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    templates.add("email/" + filename.substring(0, filename.length() - ".html".length()));
+                }
+            }
+            return templates;
+        } catch (IOException e) {
+            logger.warn("Could not list email templates for warm-up", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Static UTF-8 segments interleaved with variable slots: statics[0] slot[0] statics[1] ... statics[n]
+     */
+    private record CompiledTemplate(byte[][] statics, String[] slots) {
+
+        Set<String> slotNames() {
+            return Set.copyOf(List.of(slots));
+        }
+
+        byte[] render(Map<String, Object> variables) {
+            byte[][] values = new byte[slots.length][];
+            int length = 0;
+            for (int i = 0; i < slots.length; i++) {
+                Object value = variables.get(slots[i]);
+                values[i] = value == null ? new byte[0]
+                        : HtmlEscape.escapeHtml4Xml(value.toString()).getBytes(StandardCharsets.UTF_8);
+                length += values[i].length;
+            }
+            for (byte[] segment : statics) {
+                length += segment.length;
+            }
+
+            byte[] out = new byte[length];
+            int offset = 0;
+            for (int i = 0; i < statics.length; i++) {
+                System.arraycopy(statics[i], 0, out, offset, statics[i].length);
+                offset += statics[i].length;
+                if (i < values.length) {
+                    System.arraycopy(values[i], 0, out, offset, values[i].length);
+                    offset += values[i].length;
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.boilerplate.email;
+
+import java.util.Map;
+
+/**
+ * An email_outbox row claimed for sending
+ *
+ * @param attempts Attempts so far, including the current one
+ */
+record OutboxEmail(long id, String recipient, String subject, String template, Map<String, Object> model, int attempts) {
+}
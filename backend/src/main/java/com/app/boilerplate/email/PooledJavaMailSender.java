@@ -0,0 +1,242 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JavaMailSender that keeps connected SMTP sessions open between sends
+ *
+ * {@link JavaMailSenderImpl} connects (TCP, greeting, EHLO, STARTTLS, AUTH) for every send
+ * and quits afterwards. This keeps up to maxSessions connected transports instead:
+ *
+ * - a send borrows a session (waiting up to borrowTimeoutMs when all are in use), most
+ *   recently used first, and returns it afterwards
+ * - a session idle for validateAfterIdleMs or longer is checked with NOOP before reuse
+ * - a session is closed after maxMessagesPerSession messages (servers cap this), or by
+ *   {@link #evictIdle()} once idle for idleTimeoutMs
+ * - a message that fails because a reused session turned out to be dead is retried once on
+ *   a new connection; rejections by a live server are not retried
+ *
+ * Connection settings (host, port, credentials, JavaMail properties) are the usual
+ * JavaMailSenderImpl ones.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final int maxMessagesPerSession;
+    private final long borrowTimeoutMs;
+    private final long validateAfterIdleNanos;
+    private final long idleTimeoutNanos;
+    private final Semaphore permits;
+    // Most recently returned first; idle sessions sink to the tail
+    private final ConcurrentLinkedDeque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final Counter connections;
+    private volatile boolean closed;
+
+    public PooledJavaMailSender(int maxSessions,
+                                int maxMessagesPerSession,
+                                long borrowTimeoutMs,
+                                long validateAfterIdleMs,
+                                long idleTimeoutMs,
+                                MeterRegistry meterRegistry) {
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.validateAfterIdleNanos = TimeUnit.MILLISECONDS.toNanos(validateAfterIdleMs);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        this.permits = new Semaphore(maxSessions, true);
+        this.connections = Counter.builder("email.smtp.connections")
+                .description("SMTP connections opened")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.sessions", idle, ConcurrentLinkedDeque::size)
+                .description("Pooled SMTP sessions")
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.sessions", permits, p -> maxSessions - p.availablePermits())
+                .description("Pooled SMTP sessions")
+                .tag("state", "in-use")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport session = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                MimeMessage mimeMessage = mimeMessages[i];
+                Object original = (originalMessages != null ? originalMessages[i] : mimeMessage);
+                Address[] recipients;
+                try {
+                    recipients = prepare(mimeMessage);
+                } catch (MessagingException ex) {
+                    failedMessages.put(original, ex);
+                    continue;
+                }
+
+                for (int attempt = 0; ; attempt++) {
+                    if (session == null) {
+                        try {
+                            session = borrow();
+                        } catch (MailException ex) {
+                            for (int j = i; j < mimeMessages.length; j++) {
+                                failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                            }
+                            throw (ex instanceof MailAuthenticationException) ? ex
+                                    : new MailSendException("Mail server connection failed", ex, failedMessages);
+                        }
+                    }
+                    boolean reused = session.sent > 0;
+                    try {
+                        session.transport.sendMessage(mimeMessage, recipients);
+                        session.sent++;
+                        break;
+                    } catch (MessagingException ex) {
+                        if (session.transport.isConnected()) {
+                            failedMessages.put(original, ex);
+                            break;
+                        }
+                        release(session, false);
+                        session = null;
+                        if (!reused || attempt > 0) {
+                            failedMessages.put(original, ex);
+                            break;
+                        }
+                        logger.debug("Pooled SMTP session was dead, retrying on a new connection", ex);
+                    }
+                }
+            }
+        } finally {
+            if (session != null) {
+                release(session, true);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Close sessions idle for idleTimeoutMs or longer (call periodically)
+     */
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (PooledTransport session : idle) {
+            if (now - session.lastUsedNanos >= idleTimeoutNanos && idle.removeFirstOccurrence(session)) {
+                closeQuietly(session);
+            }
+        }
+    }
+
+    /**
+     * Close every idle session and stop pooling; sessions in use are closed when returned
+     */
+    public void close() {
+        closed = true;
+        PooledTransport session;
+        while ((session = idle.pollFirst()) != null) {
+            closeQuietly(session);
+        }
+    }
+
+    int idleSessions() {
+        return idle.size();
+    }
+
+    private PooledTransport borrow() throws MailException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP session available within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP session", e);
+        }
+        try {
+            PooledTransport session;
+            while ((session = idle.pollFirst()) != null) {
+                if (System.nanoTime() - session.lastUsedNanos < validateAfterIdleNanos || session.transport.isConnected()) {
+                    return session;
+                }
+                closeQuietly(session);
+            }
+            Transport transport = connectTransport();
+            connections.increment();
+            return new PooledTransport(transport);
+        } catch (AuthenticationFailedException ex) {
+            permits.release();
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException | RuntimeException ex) {
+            permits.release();
+            throw new MailSendException("Mail server connection failed", ex);
+        }
+    }
+
+    private void release(PooledTransport session, boolean reusable) {
+        try {
+            if (reusable && !closed && session.sent < maxMessagesPerSession) {
+                session.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(session);
+            } else {
+                closeQuietly(session);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Same per-message preparation as JavaMailSenderImpl
+    private static Address[] prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id...
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        return (addresses != null ? addresses : new Address[0]);
+    }
+
+    private static void closeQuietly(PooledTransport session) {
+        try {
+            session.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Failed to close SMTP session", e);
+        }
+    }
+
+    private static final class PooledTransport {
+
+        final Transport transport;
+        int sent;
+        long lastUsedNanos = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -7,14 +7,21 @@ import java.time.Instant;
 @Table(name = "users")
 public class User {
 
+    /**
+     * Ids reserved per sequence call; must match INCREMENT BY of users_id_seq
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @Column(nullable = false, unique = true)
+    // Stored normalized; unique case-insensitively (users_email_lower_key)
+    @Column(nullable = false)
     private String email;
 
     @Column(name = "password_hash", nullable = false)
@@ -0,0 +1,158 @@
+package com.app.boilerplate.user;
+
+import com.app.boilerplate.common.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Administrative user operations (ROLE_ADMIN: users.role = 'ADMIN')
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+public class UserAdminController {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    private static final int MIN_QUERY_LENGTH = 3;
+
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+    private final UserSearchRepository userSearchRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final int maxPageSize;
+
+    public UserAdminController(UserImportService userImportService,
+                               UserExportService userExportService,
+                               UserSearchRepository userSearchRepository,
+                               UserService userService,
+                               ObjectMapper objectMapper,
+                               @Value("${app.admin.user-search.max-page-size:100}") int maxPageSize) {
+        this.userImportService = userImportService;
+        this.userExportService = userExportService;
+        this.userSearchRepository = userSearchRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * List or search users, newest first
+     *
+     * Matches q as a prefix of, or fuzzily against, name and email. Pass the returned
+     * nextCursor back as cursor to get the following page.
+     *
+     * @param q Search text, at least 3 characters (optional; omit to list all users)
+     * @param cursor Opaque cursor from the previous page (optional)
+     * @param limit Page size, 1 to app.admin.user-search.max-page-size
+     * @return UserPage, or 400 for a short query, bad limit or invalid cursor
+     */
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        if (q != null && !q.isBlank() && q.trim().length() < MIN_QUERY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Search text must be at least " + MIN_QUERY_LENGTH + " characters", "VALIDATION_ERROR"));
+        }
+        if (limit < 1 || limit > maxPageSize) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("limit must be between 1 and " + maxPageSize, "VALIDATION_ERROR"));
+        }
+        try {
+            return ResponseEntity.ok(userSearchRepository.search(q, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(e.getMessage(), "VALIDATION_ERROR"));
+        }
+    }
+
+    /**
+     * Bulk import users from NDJSON or CSV
+     *
+     * The request body is streamed and never held in memory. The response is NDJSON as well:
+     * one line per row that was not created ({@code DUPLICATE} or {@code INVALID}, with its
+     * line number), then a final {@code {"summary": {...}}} line. If the import fails part-way,
+     * the last line is {@code {"summary": {...}, "error": "..."}} with the totals up to the failure;
+     * the chunks counted as created are committed.
+     *
+     * @param authentication Importing admin
+     * @param request Body with one user per line (NDJSON) or a header line plus one user per line (CSV)
+     * @param response Streamed per-row results
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV}, produces = NDJSON)
+    public void importUsers(Authentication authentication, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        Iterator<UserImportRow> rows = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? UserImportParser.csv(reader)
+                : UserImportParser.ndjson(reader, objectMapper);
+        String actorId = actorId(authentication);
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        try {
+            UserImportService.Summary summary = userImportService.importUsers(rows, result -> writeLine(writer, result), actorId);
+            writeLine(writer, Map.of("summary", summary));
+        } catch (UserImportService.ImportFailedException e) {
+            // The 200 and earlier lines are already sent, so the failure goes in the last line
+            writeLine(writer, Map.of("summary", e.getSummary(), "error", e.getMessage()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Export every user as NDJSON (id, name, email, createdAt; no password hashes)
+     *
+     * Streamed from a database cursor and flushed as it goes, so it works for any table size.
+     *
+     * @param authentication Exporting admin
+     * @param response Streamed export
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportUsers(Authentication authentication, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"");
+        userExportService.exportAll(response.getOutputStream(), actorId(authentication));
+    }
+
+    private String actorId(Authentication authentication) {
+        return userService.findByEmail(authentication.getName())
+                .map(user -> user.getId().toString())
+                .orElse(null);
+    }
+
+    private void writeLine(Writer writer, Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
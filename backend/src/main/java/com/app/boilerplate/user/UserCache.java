@@ -0,0 +1,200 @@
+package com.app.boilerplate.user;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based read-through cache for user lookups by email and by id
+ *
+ * Entries are immutable snapshots; every hit returns a new detached {@link User} built from
+ * the snapshot, so callers can never mutate a cached value or a Hibernate-managed instance.
+ * Only found users are cached; a miss for an unknown email always reaches the database.
+ *
+ * UserService invalidates on every write. A load that raced with an invalidation is not
+ * cached (checked with a generation counter), so a stale row cannot be re-inserted after
+ * the write that replaced it. Invalidation is local to this node; on other nodes a changed
+ * user is served from cache for at most the TTL. That is why credentials (login, refresh)
+ * are never read from here: a changed password or deleted account must take effect on every
+ * node at once.
+ *
+ * When full, expired entries are purged first, then arbitrary entries are evicted.
+ * Metrics follow Micrometer's cache conventions with cache=users
+ * (cache.gets by result, cache.evictions, cache.size, cache.hit.ratio).
+ */
+@Component
+public class UserCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMs;
+    private final ConcurrentHashMap<String, Entry> byEmail = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${app.user-cache.enabled:true}") boolean enabled,
+                     @Value("${app.user-cache.max-size:10000}") int maxSize,
+                     @Value("${app.user-cache.ttl-ms:30000}") long ttlMs) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tag("cache", "users").tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tag("cache", "users").tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tag("cache", "users")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", byId, ConcurrentHashMap::size).tag("cache", "users")
+                .register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, UserCache::hitRatio).tag("cache", "users")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached lookup by email, loading (and caching) on a miss
+     */
+    public Optional<User> findByEmail(String email, Function<String, Optional<User>> loader) {
+        return find(byEmail, email, loader);
+    }
+
+    /**
+     * Cached lookup by id, loading (and caching) on a miss
+     */
+    public Optional<User> findById(Long id, Function<Long, Optional<User>> loader) {
+        return find(byId, id, loader);
+    }
+
+    /**
+     * Drop a user from the cache (call after any write)
+     *
+     * @param id User id (nullable)
+     * @param email User email (nullable)
+     */
+    public void invalidate(Long id, String email) {
+        generation.incrementAndGet();
+        if (id != null) {
+            Entry entry = byId.remove(id);
+            if (entry != null) {
+                byEmail.remove(entry.email(), entry);
+            }
+        }
+        if (email != null) {
+            Entry entry = byEmail.remove(email);
+            if (entry != null) {
+                byId.remove(entry.id(), entry);
+            }
+        }
+    }
+
+    /**
+     * Remove entries whose TTL has passed
+     */
+    @Scheduled(fixedDelayString = "${app.user-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        byId.values().removeIf(entry -> {
+            if (entry.expiresAtMs() > now) {
+                return false;
+            }
+            byEmail.remove(entry.email(), entry);
+            evictions.increment();
+            return true;
+        });
+    }
+
+    double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    private <K> Optional<User> find(ConcurrentHashMap<K, Entry> index, K key, Function<K, Optional<User>> loader) {
+        if (!enabled || key == null) {
+            return loader.apply(key);
+        }
+        Entry entry = index.get(key);
+        if (entry != null && entry.expiresAtMs() > System.currentTimeMillis()) {
+            hits.increment();
+            return Optional.of(entry.toUser());
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Optional<User> loaded = loader.apply(key);
+        loaded.ifPresent(user -> put(user, loadGeneration));
+        return loaded;
+    }
+
+    private void put(User user, long loadGeneration) {
+        if (user.getId() == null || user.getEmail() == null) {
+            return;
+        }
+        if (byId.size() >= maxSize) {
+            makeRoom();
+        }
+        Entry entry = Entry.of(user, System.currentTimeMillis() + ttlMs);
+        byId.put(entry.id(), entry);
+        byEmail.put(entry.email(), entry);
+        if (generation.get() != loadGeneration) {
+            // An invalidation ran while we were loading; the row may already be stale
+            byId.remove(entry.id(), entry);
+            byEmail.remove(entry.email(), entry);
+        }
+    }
+
+    private void makeRoom() {
+        purgeExpired();
+        // Still full: evict roughly a tenth, in map order (effectively arbitrary)
+        int toEvict = byId.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Entry> iterator = byId.values().iterator();
+        while (toEvict > 0 && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            byEmail.remove(entry.email(), entry);
+            evictions.increment();
+            toEvict--;
+        }
+    }
+
+    /**
+     * Immutable copy of the columns of a user row
+     */
+    private record Entry(Long id, String name, String email, String passwordHash, Instant createdAt,
+                         long expiresAtMs) {
+
+        static Entry of(User user, long expiresAtMs) {
+            return new Entry(user.getId(), user.getName(), user.getEmail(), user.getPasswordHash(),
+                    user.getCreatedAt(), expiresAtMs);
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setName(name);
+            user.setEmail(email);
+            user.setPasswordHash(passwordHash);
+            user.setCreatedAt(createdAt);
+            return user;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.boilerplate.user;
+
+/**
+ * What login and refresh need from a user row, and nothing else
+ *
+ * Loaded with a JPQL constructor expression, so no entity is hydrated, snapshotted or
+ * dirty-checked.
+ *
+ * @param id User id
+ * @param email Normalized email (token subject)
+ * @param passwordHash Encoded password
+ */
+public record UserCredentials(Long id, String email, String passwordHash) {
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getId(), user.getEmail(), user.getPasswordHash());
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.boilerplate.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming readers for bulk import files
+ *
+ * Both formats are read one line at a time, so only the current line is held in memory.
+ * A line that cannot be parsed becomes an invalid row rather than aborting the import.
+ *
+ * NDJSON: one object per line with name, email and password or passwordHash.
+ * CSV: a header line naming the columns (name, email, password or password_hash, any
+ * order), then one user per line. Fields may be double-quoted; quoted fields cannot span lines.
+ */
+public final class UserImportParser {
+
+    private UserImportParser() {
+    }
+
+    public static Iterator<UserImportRow> ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new LineIterator(reader) {
+            @Override
+            UserImportRow parse(long line, String text) {
+                try {
+                    JsonNode node = objectMapper.readTree(text);
+                    if (!node.isObject()) {
+                        return UserImportRow.invalid(line, "expected a JSON object");
+                    }
+                    return new UserImportRow(line, text(node, "name"), text(node, "email"),
+                            text(node, "password"), text(node, "passwordHash"), null);
+                } catch (JsonProcessingException e) {
+                    return UserImportRow.invalid(line, "malformed JSON");
+                }
+            }
+        };
+    }
+
+    public static Iterator<UserImportRow> csv(BufferedReader reader) {
+        String header = readHeader(reader);
+        if (header == null) {
+            return List.<UserImportRow>of().iterator();
+        }
+        List<String> columns = splitCsv(header);
+        if (columns == null) {
+            columns = List.of();
+        }
+        columns = columns.stream().map(String::trim).toList();
+        int name = columns.indexOf("name");
+        int email = columns.indexOf("email");
+        int password = columns.indexOf("password");
+        int passwordHash = columns.indexOf("password_hash");
+
+        return new LineIterator(reader, 1) {
+            @Override
+            UserImportRow parse(long line, String text) {
+                List<String> fields = splitCsv(text);
+                if (fields == null) {
+                    return UserImportRow.invalid(line, "unterminated quoted field");
+                }
+                return new UserImportRow(line, field(fields, name), field(fields, email),
+                        field(fields, password), field(fields, passwordHash), null);
+            }
+        };
+    }
+
+    /**
+     * Split one CSV line, or null on an unterminated quote
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    private static String readHeader(BufferedReader reader) {
+        try {
+            String line = reader.readLine();
+            return line != null ? line.toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private abstract static class LineIterator implements Iterator<UserImportRow> {
+
+        private final BufferedReader reader;
+        private long line;
+        private String next;
+
+        LineIterator(BufferedReader reader) {
+            this(reader, 0);
+        }
+
+        LineIterator(BufferedReader reader, long linesConsumed) {
+            this.reader = reader;
+            this.line = linesConsumed;
+        }
+
+        abstract UserImportRow parse(long line, String text);
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    String text = reader.readLine();
+                    if (text == null) {
+                        return false;
+                    }
+                    line++;
+                    if (!text.isBlank()) {
+                        next = text;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public UserImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String text = next;
+            next = null;
+            return parse(line, text);
+        }
+    }
+}
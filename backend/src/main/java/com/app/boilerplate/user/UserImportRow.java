@@ -0,0 +1,26 @@
+package com.app.boilerplate.user;
+
+/**
+ * One row of a bulk user import
+ *
+ * Exactly one of password (plain text, hashed on import) or passwordHash (already encoded)
+ * is expected. Rows that could not be parsed carry an error instead.
+ *
+ * @param line 1-based line number in the uploaded file
+ * @param name User's full name
+ * @param email User's email address
+ * @param password Plain text password (nullable)
+ * @param passwordHash Pre-computed BCrypt or Argon2id hash (nullable)
+ * @param error Parse error, null when the row was read
+ */
+public record UserImportRow(long line,
+                            String name,
+                            String email,
+                            String password,
+                            String passwordHash,
+                            String error) {
+
+    static UserImportRow invalid(long line, String error) {
+        return new UserImportRow(line, null, null, null, null, error);
+    }
+}
@@ -0,0 +1,289 @@
+package com.app.boilerplate.user;
+
+import com.app.boilerplate.auth.PasswordHashingExecutor;
+import com.app.boilerplate.common.util.AuditLogger;
+import com.app.boilerplate.common.util.EmailNormalizer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Bulk user import
+ *
+ * Rows are consumed from an iterator in chunks, so a file of any size needs memory for one
+ * chunk only. Per chunk:
+ * - plain-text passwords are hashed on the shared {@link PasswordHashingExecutor}, limited to
+ *   its bulk share of the threads so logins keep theirs (pre-hashed rows skip this entirely)
+ * - ids are reserved from users_id_seq in blocks of {@link User#ID_ALLOCATION_SIZE}, the
+ *   same pooled scheme Hibernate uses, with one sequence query per chunk
+ * - the whole chunk is written by one multi-row INSERT ... ON CONFLICT DO NOTHING RETURNING id;
+ *   rows that come back missing were duplicates (of existing users or of earlier rows,
+ *   compared case-insensitively)
+ *
+ * Each chunk commits on its own, so a failure part-way keeps the chunks before it and is
+ * thrown as an {@link ImportFailedException} carrying the totals so far. Rows that were not
+ * created are reported to the caller one by one; created rows only count toward the summary.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String NEXT_IDS =
+            "SELECT nextval('users_id_seq') FROM generate_series(1, ?)";
+    private static final String INSERT_CHUNK =
+            "INSERT INTO users (id, name, email, password_hash) "
+                    + "SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[]) "
+                    + "ON CONFLICT DO NOTHING RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final AuditLogger auditLogger;
+    private final int batchSize;
+
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PasswordEncoder passwordEncoder,
+                             PasswordHashingExecutor passwordHashingExecutor,
+                             AuditLogger auditLogger,
+                             @Value("${app.user-import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.auditLogger = auditLogger;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Outcome of a row that was not created
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowResult(long line, String email, Status status, String error) {
+    }
+
+    public enum Status {
+        DUPLICATE,
+        INVALID
+    }
+
+    /**
+     * Totals for a finished import
+     */
+    public record Summary(long total, long created, long duplicates, long invalid) {
+    }
+
+    /**
+     * An import that stopped part-way; chunks before the failing one are committed
+     */
+    public static class ImportFailedException extends RuntimeException {
+
+        private final Summary summary;
+
+        public ImportFailedException(Summary summary, Throwable cause) {
+            super("Import failed after " + summary.total() + " rows", cause);
+            this.summary = summary;
+        }
+
+        /**
+         * Totals up to the failure (rows of the failing chunk count as read, not created)
+         */
+        public Summary getSummary() {
+            return summary;
+        }
+    }
+
+    /**
+     * Import users from a stream of rows
+     *
+     * @param rows Rows in file order, read lazily
+     * @param rejected Receives every row that was not created, in file order per chunk
+     * @param actorId Admin running the import, for the audit trail
+     * @return Totals
+     * @throws ImportFailedException if reading, hashing or writing fails part-way
+     */
+    public Summary importUsers(Iterator<UserImportRow> rows, Consumer<RowResult> rejected, String actorId) {
+        long total = 0;
+        long created = 0;
+        long duplicates = 0;
+        long invalid = 0;
+        try {
+            List<PendingUser> chunk = new ArrayList<>(batchSize);
+            while (rows.hasNext()) {
+                UserImportRow row = rows.next();
+                total++;
+                String error = validate(row);
+                if (error != null) {
+                    invalid++;
+                    rejected.accept(new RowResult(row.line(), row.email(), Status.INVALID, error));
+                    continue;
+                }
+                chunk.add(new PendingUser(row));
+                if (chunk.size() == batchSize) {
+                    long inserted = writeChunk(chunk, rejected);
+                    created += inserted;
+                    duplicates += chunk.size() - inserted;
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                long inserted = writeChunk(chunk, rejected);
+                created += inserted;
+                duplicates += chunk.size() - inserted;
+            }
+        } catch (RuntimeException e) {
+            Summary partial = new Summary(total, created, duplicates, invalid);
+            logger.error("User import failed after {} rows ({} created)", total, created, e);
+            auditLogger.log("USERS_IMPORT_FAILED", actorId, Map.of(
+                    "total", total, "created", created, "duplicates", duplicates, "invalid", invalid));
+            throw new ImportFailedException(partial, e);
+        }
+
+        Summary summary = new Summary(total, created, duplicates, invalid);
+        auditLogger.log("USERS_IMPORTED", actorId, Map.of(
+                "total", total, "created", created, "duplicates", duplicates, "invalid", invalid));
+        return summary;
+    }
+
+    private long writeChunk(List<PendingUser> chunk, Consumer<RowResult> rejected) {
+        hashPasswords(chunk);
+        List<Long> ids = reserveIds(chunk.size());
+
+        int size = chunk.size();
+        Long[] idArray = new Long[size];
+        String[] names = new String[size];
+        String[] emails = new String[size];
+        String[] hashes = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingUser user = chunk.get(i);
+            user.id = ids.get(i);
+            idArray[i] = user.id;
+            names[i] = user.row.name();
+            emails[i] = EmailNormalizer.normalize(user.row.email());
+            hashes[i] = user.hash;
+        }
+
+        Set<Long> inserted = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CHUNK)) {
+                statement.setArray(1, array(connection, "bigint", idArray));
+                statement.setArray(2, array(connection, "varchar", names));
+                statement.setArray(3, array(connection, "varchar", emails));
+                statement.setArray(4, array(connection, "varchar", hashes));
+                Set<Long> returned = new HashSet<>(size * 2);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        returned.add(resultSet.getLong(1));
+                    }
+                }
+                return returned;
+            }
+        });
+
+        for (PendingUser user : chunk) {
+            if (!inserted.contains(user.id)) {
+                rejected.accept(new RowResult(user.row.line(), user.row.email(), Status.DUPLICATE, null));
+            }
+        }
+        return inserted.size();
+    }
+
+    private void hashPasswords(List<PendingUser> chunk) {
+        List<Runnable> work = new ArrayList<>();
+        for (PendingUser user : chunk) {
+            if (user.row.passwordHash() != null) {
+                user.hash = normalizeHash(user.row.passwordHash());
+            } else {
+                // The encoder runs inline on pool threads, so this is timed as auth.password.hash
+                work.add(() -> user.hash = passwordEncoder.encode(user.row.password()));
+            }
+        }
+        if (!work.isEmpty()) {
+            passwordHashingExecutor.runAll(work);
+        }
+    }
+
+    /**
+     * Reserve at least count ids the way Hibernate's pooled optimizer does: nextval v owns v-49..v
+     *
+     * Ids below 1 are never used: on a fresh sequence the first nextval is 1 and owns only
+     * itself (Hibernate likewise treats a first value below the increment as the start of its
+     * range), so another block is fetched when a chunk comes up short.
+     */
+    List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count + User.ID_ALLOCATION_SIZE);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+            for (Long hi : jdbcTemplate.queryForList(NEXT_IDS, Long.class, blocks)) {
+                for (long id = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1); id <= hi; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static String validate(UserImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        if (row.name() == null || row.name().isBlank() || row.name().length() > 255) {
+            return "name is required (max 255 characters)";
+        }
+        if (row.email() == null || row.email().length() > 255 || row.email().indexOf('@') < 1) {
+            return "a valid email is required";
+        }
+        if (row.passwordHash() != null) {
+            return isSupportedHash(row.passwordHash()) ? null : "unsupported password hash format";
+        }
+        if (row.password() == null || row.password().length() < 8) {
+            return "password or passwordHash is required (password min 8 characters)";
+        }
+        return null;
+    }
+
+    private static boolean isSupportedHash(String hash) {
+        return hash.startsWith("{bcrypt}$2") || hash.startsWith("{argon2}$argon2id$")
+                || hash.startsWith("$2a$") || hash.startsWith("$2b$") || hash.startsWith("$2y$")
+                || hash.startsWith("$argon2id$");
+    }
+
+    /**
+     * Store pre-hashed passwords with the algorithm prefix the encoder expects
+     */
+    private static String normalizeHash(String hash) {
+        if (hash.startsWith("{")) {
+            return hash;
+        }
+        return (hash.startsWith("$argon2id$") ? "{argon2}" : "{bcrypt}") + hash;
+    }
+
+    private static Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+
+    private static final class PendingUser {
+        private final UserImportRow row;
+        private Long id;
+        private volatile String hash;
+
+        PendingUser(UserImportRow row) {
+            this.row = row;
+        }
+    }
+}
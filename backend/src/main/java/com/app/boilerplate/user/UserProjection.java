@@ -0,0 +1,17 @@
+package com.app.boilerplate.user;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of a user row for exports (never a managed entity, no password hash)
+ */
+public interface UserProjection {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    Instant getCreatedAt();
+}
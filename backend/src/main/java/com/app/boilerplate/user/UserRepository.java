@@ -1,12 +1,66 @@
 package com.app.boilerplate.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByEmail(String email);
+    /**
+     * Case-insensitive lookup; written as lower(email) so it uses users_email_lower_key
+     */
+    @Query("SELECT u FROM User u WHERE lower(u.email) = lower(:email)")
+    @Transactional(readOnly = true)
+    Optional<User> findByEmail(@Param("email") String email);
 
-    boolean existsByEmail(String email);
+    /**
+     * Id, email and hash only, for the login and refresh paths (no managed entity)
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.app.boilerplate.user.UserCredentials(u.id, u.email, u.passwordHash) "
+            + "FROM User u WHERE lower(u.email) = lower(:email)")
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    @Query("SELECT CASE WHEN count(u) > 0 THEN true ELSE false END FROM User u WHERE lower(u.email) = lower(:email)")
+    @Transactional(readOnly = true)
+    boolean existsByEmail(@Param("email") String email);
+
+    /**
+     * Whether the user has role ADMIN (users.role, set by hand; never by the application)
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE lower(email) = lower(:email) AND role = 'ADMIN')",
+            nativeQuery = true)
+    boolean isAdmin(@Param("email") String email);
+
+    /**
+     * Replace a password hash only if it has not changed since it was read
+     *
+     * @return 1 if updated, 0 if the password was changed in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    /**
+     * Every user in id order, as projections fetched 1000 rows at a time
+     *
+     * Must be consumed inside a (read-only) transaction and closed: Postgres only streams
+     * with a server-side cursor when autocommit is off.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.createdAt AS createdAt FROM User u ORDER BY u.id")
+    Stream<UserProjection> streamAllForExport();
 }
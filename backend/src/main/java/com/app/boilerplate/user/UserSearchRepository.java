@@ -0,0 +1,90 @@
+package com.app.boilerplate.user;
+
+import com.app.boilerplate.common.util.EmailNormalizer;
+import com.app.boilerplate.user.dto.UserPage;
+import com.app.boilerplate.user.dto.UserSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin user listing and search, newest first, with keyset pagination
+ *
+ * Matching is prefix (ILIKE 'q%') or trigram similarity ({@code %}) on name and email, all
+ * served by the pg_trgm GIN indexes from V6. Pages continue from the (created_at, id) of the
+ * previous page's last row via the (created_at, id) B-tree, so every page costs the same no
+ * matter how deep it is. Rows are read straight into {@link UserSummary}; no entities are
+ * loaded.
+ */
+@Repository
+public class UserSearchRepository {
+
+    private static final String SELECT = "SELECT id, name, email, created_at FROM users";
+    private static final String MATCH =
+            "(name ILIKE ? ESCAPE '\\' OR email LIKE ? ESCAPE '\\' OR name % ? OR email % ?)";
+    private static final String AFTER = "(created_at, id) < (?, ?)";
+    private static final String ORDER = " ORDER BY created_at DESC, id DESC LIMIT ?";
+
+    private static final RowMapper<UserSummary> SUMMARY = (rs, rowNum) -> new UserSummary(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("email"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param query Search text (null or blank lists all users)
+     * @param cursor Cursor from the previous page (nullable)
+     * @param limit Page size
+     * @throws IllegalArgumentException if the cursor is invalid
+     */
+    public UserPage search(String query, String cursor, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> params = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+
+        if (query != null && !query.isBlank()) {
+            String trimmed = query.trim();
+            String lowered = EmailNormalizer.normalize(trimmed);
+            conditions.add(MATCH);
+            params.add(escapeLike(trimmed) + "%");
+            params.add(escapeLike(lowered) + "%");
+            params.add(trimmed);
+            params.add(lowered);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            UserCursor after = UserCursor.decode(cursor);
+            conditions.add(AFTER);
+            params.add(after.createdAt().atOffset(ZoneOffset.UTC));
+            params.add(after.id());
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(ORDER);
+        // One extra row tells us whether there is a next page
+        params.add(limit + 1);
+
+        List<UserSummary> rows = jdbcTemplate.query(sql.toString(), SUMMARY, params.toArray());
+        if (rows.size() <= limit) {
+            return new UserPage(rows, null);
+        }
+        List<UserSummary> page = rows.subList(0, limit);
+        UserSummary last = page.get(limit - 1);
+        return new UserPage(List.copyOf(page), new UserCursor(last.createdAt(), last.id()).encode());
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,15 +1,24 @@
 package com.app.boilerplate.user;
 
+import com.app.boilerplate.auth.PasswordHashingExecutor;
 import com.app.boilerplate.common.util.AuditLogger;
+import com.app.boilerplate.common.util.EmailNormalizer;
+import com.app.boilerplate.config.ReadYourWritesWindow;
+import com.app.boilerplate.config.ReplicaRoutingDataSource;
+import com.app.boilerplate.email.EmailOutbox;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
 /**
  * User business logic service
  *
- * Handles user-related operations separate from HTTP controllers
+ * Handles user-related operations separate from HTTP controllers.
+ * Emails are normalized here (see {@link EmailNormalizer}) before any lookup or write.
+ * Lookups run in read-only transactions and may be served by a replica; a user created or
+ * changed on this node is read from the primary for a short window afterwards.
  */
 @Service
 public class UserService {
@@ -17,38 +26,70 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuditLogger auditLogger;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserCache userCache;
+    private final ReadYourWritesWindow readYourWrites;
+    private final EmailOutbox emailOutbox;
+    private final TransactionOperations transactions;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       AuditLogger auditLogger) {
+                       AuditLogger auditLogger,
+                       PasswordHashingExecutor passwordHashingExecutor,
+                       UserCache userCache,
+                       ReadYourWritesWindow readYourWrites,
+                       EmailOutbox emailOutbox,
+                       TransactionOperations transactions) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.auditLogger = auditLogger;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.userCache = userCache;
+        this.readYourWrites = readYourWrites;
+        this.emailOutbox = emailOutbox;
+        this.transactions = transactions;
     }
 
     /**
-     * Find user by email
+     * Find user by email (cached; the returned instance is detached)
      */
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userCache.findByEmail(EmailNormalizer.normalize(email),
+                normalized -> readYourWrites.read(emailKey(normalized), () -> userRepository.findByEmail(normalized)));
     }
 
     /**
-     * Find user by ID
+     * Find user by ID (cached; the returned instance is detached)
      */
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return userCache.findById(id,
+                key -> readYourWrites.read(idKey(key), () -> userRepository.findById(key)));
+    }
+
+    /**
+     * Find the id, email and password hash of a user by email (login and refresh)
+     *
+     * Never cached: the cache is per node, and a password change or deletion on another node
+     * must not leave the old credentials usable here.
+     */
+    public Optional<UserCredentials> findCredentials(String email) {
+        String normalized = EmailNormalizer.normalize(email);
+        return readYourWrites.read(emailKey(normalized), () -> userRepository.findCredentialsByEmail(normalized));
     }
 
     /**
      * Check if email already exists
      */
     public boolean emailExists(String email) {
-        return userRepository.existsByEmail(email);
+        String normalized = EmailNormalizer.normalize(email);
+        return readYourWrites.read(emailKey(normalized), () -> userRepository.existsByEmail(normalized));
     }
 
     /**
-     * Create a new user
+     * Create a new user and queue their welcome email in the same transaction
+     *
+     * The password is hashed before the transaction starts: waiting for the hashing pool
+     * (up to max-wait-ms) and the hash itself must not hold a database connection.
      *
      * @param name User's full name
      * @param email User's email address
@@ -57,17 +98,26 @@ public class UserService {
      * @throws IllegalArgumentException if email already exists
      */
     public User createUser(String name, String email, String password) {
-        if (emailExists(email)) {
-            auditLogger.log("USER_CREATION_DUPLICATE_EMAIL", null, java.util.Map.of("email", email));
+        String normalized = EmailNormalizer.normalize(email);
+        // A replica may not have seen a registration from a moment ago
+        if (ReplicaRoutingDataSource.onPrimary(() -> userRepository.existsByEmail(normalized))) {
+            auditLogger.log("USER_CREATION_DUPLICATE_EMAIL", null, java.util.Map.of("email", normalized));
             throw new IllegalArgumentException("Email already exists");
         }
 
-        User user = new User();
-        user.setName(name);
-        user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        String passwordHash = passwordEncoder.encode(password);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = transactions.execute(status -> {
+            User user = new User();
+            user.setName(name);
+            user.setEmail(normalized);
+            user.setPasswordHash(passwordHash);
+            User saved = userRepository.save(user);
+            emailOutbox.enqueueWelcome(saved.getEmail(), saved.getName());
+            return saved;
+        });
+        userCache.invalidate(savedUser.getId(), savedUser.getEmail());
+        recordWrite(savedUser.getId(), savedUser.getEmail());
 
         auditLogger.logRegistration(savedUser.getId().toString(), savedUser.getEmail());
 
@@ -77,12 +127,27 @@ public class UserService {
     /**
      * Validate user password
      *
+     * A matching hash stored with an outdated algorithm or cost is rewritten in the
+     * background; the caller does not wait for it.
+     *
      * @param user User entity
      * @param rawPassword Plain text password to validate
      * @return true if password matches
      */
     public boolean validatePassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPasswordHash());
+        return validatePassword(UserCredentials.of(user), rawPassword);
+    }
+
+    /**
+     * Validate a password against a credentials projection (see {@link #validatePassword(User, String)})
+     */
+    public boolean validatePassword(UserCredentials credentials, String rawPassword) {
+        String hash = credentials.passwordHash();
+        boolean matches = passwordEncoder.matches(rawPassword, hash);
+        if (matches && passwordEncoder.upgradeEncoding(hash)) {
+            upgradeHash(credentials.id(), hash, rawPassword);
+        }
+        return matches;
     }
 
     /**
@@ -94,6 +159,8 @@ public class UserService {
     public void updatePassword(User user, String newPassword) {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userCache.invalidate(user.getId(), user.getEmail());
+        recordWrite(user.getId(), user.getEmail());
 
         auditLogger.log("PASSWORD_UPDATED", user.getId().toString());
     }
@@ -105,6 +172,33 @@ public class UserService {
      */
     public void deleteUser(Long userId) {
         userRepository.deleteById(userId);
+        userCache.invalidate(userId, null);
         auditLogger.log("USER_DELETED", userId.toString());
     }
+
+    private void upgradeHash(Long userId, String currentHash, String rawPassword) {
+        // Best effort: when the hashing pool is busy the upgrade waits for a later login
+        passwordHashingExecutor.tryExecute(() -> {
+            String upgraded = passwordEncoder.encode(rawPassword);
+            if (userRepository.replacePasswordHash(userId, currentHash, upgraded) == 1) {
+                userCache.invalidate(userId, null);
+                auditLogger.log("PASSWORD_HASH_UPGRADED", userId.toString());
+            }
+        });
+    }
+
+    private void recordWrite(Long id, String email) {
+        readYourWrites.recordWrite(idKey(id));
+        if (email != null) {
+            readYourWrites.recordWrite(emailKey(email));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "user:email:" + email;
+    }
+
+    private static String idKey(Long id) {
+        return "user:id:" + id;
+    }
 }
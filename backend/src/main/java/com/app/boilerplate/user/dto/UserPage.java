@@ -0,0 +1,12 @@
+package com.app.boilerplate.user.dto;
+
+import java.util.List;
+
+/**
+ * One page of users, newest first
+ *
+ * @param items Users on this page
+ * @param nextCursor Opaque cursor for the next page, null on the last page
+ */
+public record UserPage(List<UserSummary> items, String nextCursor) {
+}
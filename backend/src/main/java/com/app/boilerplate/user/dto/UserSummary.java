@@ -0,0 +1,9 @@
+package com.app.boilerplate.user.dto;
+
+import java.time.Instant;
+
+/**
+ * User fields shown in admin listings (no password hash)
+ */
+public record UserSummary(Long id, String name, String email, Instant createdAt) {
+}
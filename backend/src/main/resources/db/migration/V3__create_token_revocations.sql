@@ -0,0 +1,11 @@
+CREATE TABLE token_revocations (
+    id BIGSERIAL PRIMARY KEY,
+    jti VARCHAR(64),
+    subject VARCHAR(255),
+    revoked_before TIMESTAMP WITH TIME ZONE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CHECK (jti IS NOT NULL OR (subject IS NOT NULL AND revoked_before IS NOT NULL))
+);
+
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
@@ -0,0 +1,3 @@
+-- Hand out user ids in blocks of 50 (Hibernate pooled optimizer, bulk import).
+-- Each nextval value v reserves ids v-49..v; must match User.ID_ALLOCATION_SIZE.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
@@ -0,0 +1,12 @@
+-- One case-insensitive unique index on email instead of the UNIQUE constraint plus the
+-- identical idx_users_email, which made every insert maintain two B-trees.
+--
+-- Stored emails are normalized to lower case first. If two accounts differ only by case,
+-- the UPDATE fails on the existing constraint and the migration is rolled back; merge them
+-- before retrying:
+--   SELECT lower(email), array_agg(id) FROM users GROUP BY 1 HAVING count(*) > 1;
+UPDATE users SET email = lower(btrim(email)) WHERE email <> lower(btrim(email));
+
+ALTER TABLE users DROP CONSTRAINT users_email_key;
+DROP INDEX idx_users_email;
+CREATE UNIQUE INDEX users_email_lower_key ON users (lower(email));
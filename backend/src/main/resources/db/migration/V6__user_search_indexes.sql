@@ -0,0 +1,11 @@
+-- Admin user search: trigram indexes for prefix/fuzzy matching on name and email, and a
+-- (created_at, id) B-tree for keyset pagination. Keyset comparison needs created_at to be
+-- non-null.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+UPDATE users SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE users ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_users_name_trgm ON users USING gin (name gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING gin (email gin_trgm_ops);
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
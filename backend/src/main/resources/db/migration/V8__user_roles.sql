@@ -0,0 +1,4 @@
+-- Role stored per user; ROLE_ADMIN (/api/admin/**) is granted only to role = 'ADMIN'.
+-- Nothing in the application sets it: promote an existing, known account by hand, e.g.
+--   UPDATE users SET role = 'ADMIN' WHERE lower(email) = lower('ops@example.com');
+ALTER TABLE users ADD COLUMN role VARCHAR(16) NOT NULL DEFAULT 'USER';
@@ -1,16 +1,21 @@
 package com.app.boilerplate.auth;
 
 import com.app.boilerplate.auth.dto.LoginRequest;
+import com.app.boilerplate.auth.dto.LogoutRequest;
+import com.app.boilerplate.auth.dto.RefreshRequest;
 import com.app.boilerplate.auth.dto.RegisterRequest;
+import com.app.boilerplate.auth.dto.TokenResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
@@ -76,4 +81,79 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(login)))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void logoutRevokesAccessAndRefreshToken() throws Exception {
+        TokenResponse tokens = registerAndLogin("logout@example.com");
+        LogoutRequest logout = new LogoutRequest();
+        logout.setRefreshToken(tokens.getRefreshToken());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getAccessToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(logout)))
+                .andExpect(status().isNoContent());
+
+        // The revoked access token no longer authenticates
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getAccessToken()))
+                .andExpect(status().isUnauthorized());
+        refresh(tokens.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutWithoutAccessTokenReturns401() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/logout-all"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logoutAllRevokesEverySession() throws Exception {
+        TokenResponse first = registerAndLogin("logout-all@example.com");
+        TokenResponse second = login("logout-all@example.com");
+
+        mockMvc.perform(post("/api/auth/logout-all")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + first.getAccessToken()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + second.getAccessToken()))
+                .andExpect(status().isUnauthorized());
+        refresh(first.getRefreshToken()).andExpect(status().isUnauthorized());
+        refresh(second.getRefreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    private TokenResponse registerAndLogin(String email) throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setName("Test User");
+        register.setEmail(email);
+        register.setPassword("password123");
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isOk());
+        return login(email);
+    }
+
+    private TokenResponse login(String email) throws Exception {
+        LoginRequest login = new LoginRequest();
+        login.setEmail(email);
+        login.setPassword("password123");
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, TokenResponse.class);
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshRequest refresh = new RefreshRequest();
+        refresh.setRefreshToken(refreshToken);
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(refresh)));
+    }
 }
@@ -0,0 +1,114 @@
+package com.app.boilerplate.auth;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedSchemaJwtCodecTest {
+
+    private static final String SECRET_512 = "0123456789012345678901234567890123456789012345678901234567890123";
+    private static final String SECRET_256 = "0123456789abcdef0123456789abcdef";
+    private static final long IAT = 1_700_000_000L;
+    private static final long EXP = 4_000_000_000L;
+
+    @ParameterizedTest
+    @ValueSource(strings = {SECRET_256, SECRET_512})
+    void encode_AccessTokenMatchesJjwt(String secret) {
+        // Arrange
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        FixedSchemaJwtCodec codec = new FixedSchemaJwtCodec(key);
+
+        // Act
+        String ours = codec.encode("jti-1", "test@example.com", "access", null, IAT, EXP);
+        String theirs = Jwts.builder()
+                .id("jti-1")
+                .subject("test@example.com")
+                .claim("type", "access")
+                .issuedAt(new Date(IAT * 1000))
+                .expiration(new Date(EXP * 1000))
+                .signWith(key)
+                .compact();
+
+        // Assert
+        assertEquals(theirs, ours);
+    }
+
+    @Test
+    void encode_RefreshTokenWithEscapesMatchesJjwt() {
+        // Arrange
+        SecretKey key = Keys.hmacShaKeyFor(SECRET_512.getBytes(StandardCharsets.UTF_8));
+        FixedSchemaJwtCodec codec = new FixedSchemaJwtCodec(key);
+        String subject = "o\"brien\\é\u0001\n😀@example.com";
+
+        // Act
+        String ours = codec.encode("jti-2", subject, "refresh", "family-1", IAT, EXP);
+        String theirs = Jwts.builder()
+                .id("jti-2")
+                .subject(subject)
+                .claim("type", "refresh")
+                .claim("fam", "family-1")
+                .issuedAt(new Date(IAT * 1000))
+                .expiration(new Date(EXP * 1000))
+                .signWith(key)
+                .compact();
+
+        // Assert
+        assertEquals(theirs, ours);
+        ParsedToken parsed = codec.decode(theirs, IAT * 1000);
+        assertEquals(subject, parsed.subject());
+        assertEquals("family-1", parsed.family());
+        assertEquals(Instant.ofEpochSecond(EXP), parsed.expiresAt());
+    }
+
+    @Test
+    void decode_RejectsTamperedAndExpiredTokens() {
+        // Arrange
+        FixedSchemaJwtCodec codec = new FixedSchemaJwtCodec(Keys.hmacShaKeyFor(SECRET_512.getBytes(StandardCharsets.UTF_8)));
+        String token = codec.encode("jti-1", "test@example.com", "access", null, IAT, IAT + 60);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertEquals(ParsedToken.FailureReason.INVALID_SIGNATURE, codec.decode(tampered, IAT * 1000).failure());
+        assertEquals(ParsedToken.FailureReason.EXPIRED, codec.decode(token, (IAT + 61) * 1000).failure());
+        assertTrue(codec.decode(token, (IAT + 60) * 1000).isValid());
+    }
+
+    @Test
+    void decode_ReturnsNullForOtherShapes() {
+        // Arrange
+        SecretKey key = Keys.hmacShaKeyFor(SECRET_512.getBytes(StandardCharsets.UTF_8));
+        FixedSchemaJwtCodec codec = new FixedSchemaJwtCodec(key);
+        String withKid = Jwts.builder().header().keyId("k1").and().subject("a").signWith(key).compact();
+        String extraClaim = Jwts.builder().subject("a").claim("role", "admin").signWith(key).compact();
+
+        // Act & Assert
+        assertNull(codec.decode(withKid, IAT * 1000));
+        assertNull(codec.decode(extraClaim, IAT * 1000));
+    }
+
+    @Test
+    void jwtService_FastCodecRoundTrip() {
+        // Arrange
+        JwtService jwtService = new JwtService(JwtKeyRing.hmac(SECRET_512), 900_000, 604_800_000, false, 1, true, new SimpleMeterRegistry());
+        JwtService reference = new JwtService(JwtKeyRing.hmac(SECRET_512), 900_000, 604_800_000, false, 1, false, new SimpleMeterRegistry());
+        com.app.boilerplate.user.User user = new com.app.boilerplate.user.User();
+        user.setEmail("test@example.com");
+
+        // Act
+        String token = jwtService.generateAccessToken(user);
+
+        // Assert
+        assertTrue(jwtService.parse(token).isAccessToken());
+        assertEquals(reference.parse(token), jwtService.parse(token));
+    }
+}
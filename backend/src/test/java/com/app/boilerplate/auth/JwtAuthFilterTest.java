@@ -0,0 +1,87 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    private JwtService jwtService;
+    private UserRepository userRepository;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, true, 100, false, new SimpleMeterRegistry());
+        TokenRevocationService revocations = new TokenRevocationService(null, null, null, 900_000, 1_000, 0.01, false, 500, 10_000, 30_000);
+        userRepository = mock(UserRepository.class);
+        filter = new JwtAuthFilter(jwtService, revocations, userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void adminPath_StoredAdminRole_GrantsRoleAdmin() throws Exception {
+        // Arrange
+        when(userRepository.isAdmin("ops@example.com")).thenReturn(true);
+
+        // Act
+        Authentication authentication = authenticate("ops@example.com", "/api/admin/users");
+
+        // Assert
+        assertTrue(isAdmin(authentication));
+    }
+
+    @Test
+    void adminPath_AdminEmailNotRegisteredYet_NoRoleAdmin() throws Exception {
+        // Arrange: a token for an address nobody owns as an admin (no row, or role USER)
+        when(userRepository.isAdmin("ops@example.com")).thenReturn(false);
+
+        // Act
+        Authentication authentication = authenticate("ops@example.com", "/api/admin/users/export");
+
+        // Assert
+        assertNotNull(authentication);
+        assertFalse(isAdmin(authentication));
+    }
+
+    @Test
+    void otherPath_NoRoleLookup() throws Exception {
+        // Act
+        Authentication authentication = authenticate("ops@example.com", "/api/users/me");
+
+        // Assert
+        assertFalse(isAdmin(authentication));
+        verify(userRepository, never()).isAdmin(anyString());
+    }
+
+    private Authentication authenticate(String subject, String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(subject));
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ROLE_ADMIN"::equals);
+    }
+}
@@ -0,0 +1,137 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final long VALIDITY_MS = 900_000;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setEmail("test@example.com");
+    }
+
+    @Test
+    void es256_SignsWithKidAndVerifies() {
+        // Arrange
+        KeyPair pair = JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256);
+        JwtKeyRing ring = JwtKeyRing.of(JwtKeyRing.Algorithm.ES256, Map.of("k1", pair), "k1");
+        JwtService jwtService = new JwtService(ring, VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+
+        // Act
+        ParsedToken parsed = jwtService.parse(jwtService.generateAccessToken(testUser));
+
+        // Assert
+        assertTrue(parsed.isAccessToken());
+        assertEquals("test@example.com", parsed.subject());
+    }
+
+    @Test
+    void eddsa_RetiredKeyStillVerifiesOldTokens() {
+        // Arrange
+        KeyPair oldPair = JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.EDDSA);
+        KeyPair newPair = JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.EDDSA);
+        JwtService before = new JwtService(
+                JwtKeyRing.of(JwtKeyRing.Algorithm.EDDSA, Map.of("k1", oldPair), "k1"), VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+        String oldToken = before.generateAccessToken(testUser);
+
+        // Act
+        JwtService after = new JwtService(
+                JwtKeyRing.of(JwtKeyRing.Algorithm.EDDSA, Map.of("k1", oldPair, "k2", newPair), "k2"), VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+
+        // Assert
+        assertTrue(after.parse(oldToken).isValid());
+        assertTrue(after.parse(after.generateAccessToken(testUser)).isValid());
+    }
+
+    @Test
+    void unknownKid_IsRejected() {
+        // Arrange
+        JwtService issuer = new JwtService(JwtKeyRing.of(JwtKeyRing.Algorithm.ES256,
+                Map.of("k1", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256)), "k1"), VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+        JwtService verifier = new JwtService(JwtKeyRing.of(JwtKeyRing.Algorithm.ES256,
+                Map.of("k2", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256)), "k2"), VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertFalse(verifier.parse(issuer.generateAccessToken(testUser)).isValid());
+    }
+
+    @Test
+    void publicJwks_PublishesOnlyPublicParameters() {
+        // Arrange
+        JwtKeyRing ring = JwtKeyRing.of(JwtKeyRing.Algorithm.ES256,
+                Map.of("k1", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256)), "k1");
+
+        // Act
+        List<Map<String, Object>> jwks = ring.publicJwks();
+
+        // Assert
+        assertEquals(1, jwks.size());
+        assertEquals("k1", jwks.get(0).get("kid"));
+        assertEquals("EC", jwks.get(0).get("kty"));
+        assertEquals("ES256", jwks.get(0).get("alg"));
+        assertFalse(jwks.get(0).containsKey("d"));
+        assertTrue(JwtKeyRing.hmac("0123456789012345678901234567890123456789012345678901234567890123").publicJwks().isEmpty());
+    }
+
+    @Test
+    void keyDir_ActiveKeyIsGreatestKidWithPrivateKey(@TempDir Path dir) throws Exception {
+        // Arrange
+        writeKeyPair(dir, "2026-01", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256));
+        writeKeyPair(dir, "2026-02", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256));
+
+        // Act
+        JwtKeyRing ring = new JwtKeyRing("", JwtKeyRing.Algorithm.ES256, dir.toString(), "", false, VALIDITY_MS);
+
+        // Assert
+        assertEquals("2026-02", ring.activeKid());
+        assertEquals(2, ring.publicJwks().size());
+    }
+
+    @Test
+    void keyDir_RemovedKeyStaysValidForGracePeriod(@TempDir Path dir) throws Exception {
+        // Arrange
+        writeKeyPair(dir, "2026-01", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256));
+        JwtKeyRing ring = new JwtKeyRing("", JwtKeyRing.Algorithm.ES256, dir.toString(), "", false, VALIDITY_MS);
+        JwtService jwtService = new JwtService(ring, VALIDITY_MS, VALIDITY_MS, false, 1, false, new SimpleMeterRegistry());
+        String oldToken = jwtService.generateAccessToken(testUser);
+
+        // Act
+        writeKeyPair(dir, "2026-02", JwtKeyRing.generateKeyPair(JwtKeyRing.Algorithm.ES256));
+        Files.delete(dir.resolve("2026-01.key"));
+        Files.delete(dir.resolve("2026-01.pub"));
+        ring.reload();
+
+        // Assert
+        assertEquals("2026-02", ring.activeKid());
+        assertTrue(jwtService.parse(oldToken).isValid());
+    }
+
+    private static void writeKeyPair(Path dir, String kid, KeyPair pair) throws Exception {
+        Files.writeString(dir.resolve(kid + ".key"), pem("PRIVATE KEY", pair.getPrivate()));
+        Files.writeString(dir.resolve(kid + ".pub"), pem("PUBLIC KEY", pair.getPublic()));
+    }
+
+    private static String pem(String type, Key key) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(key.getEncoded())
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,154 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    private JwtService jwtService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, true, 100, false, new SimpleMeterRegistry());
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("test@example.com");
+    }
+
+    @Test
+    void parse_AccessToken() {
+        // Arrange
+        String token = jwtService.generateAccessToken(testUser);
+
+        // Act
+        ParsedToken parsed = jwtService.parse(token);
+
+        // Assert
+        assertTrue(parsed.isValid());
+        assertTrue(parsed.isAccessToken());
+        assertFalse(parsed.isRefreshToken());
+        assertEquals("test@example.com", parsed.subject());
+        assertNotNull(parsed.expiresAt());
+        assertNull(parsed.failure());
+    }
+
+    @Test
+    void parse_RefreshToken() {
+        // Arrange
+        String token = jwtService.generateRefreshToken(testUser, "jti-1", "family-1", Instant.now().plusSeconds(60));
+
+        // Act
+        ParsedToken parsed = jwtService.parse(token);
+
+        // Assert
+        assertTrue(parsed.isRefreshToken());
+        assertFalse(parsed.isAccessToken());
+        assertEquals("jti-1", parsed.id());
+        assertEquals("family-1", parsed.family());
+    }
+
+    @Test
+    void parse_MalformedTokenReturnsFailureInsteadOfThrowing() {
+        // Act
+        ParsedToken garbage = jwtService.parse("not-a-jwt");
+        ParsedToken missing = jwtService.parse(null);
+
+        // Assert
+        assertEquals(ParsedToken.FailureReason.MALFORMED, garbage.failure());
+        assertEquals(ParsedToken.FailureReason.MISSING, missing.failure());
+        assertNull(garbage.subject());
+    }
+
+    @Test
+    void parse_RepeatedTokenHitsCache() {
+        // Arrange
+        String token = jwtService.generateAccessToken(testUser);
+
+        // Act
+        ParsedToken first = jwtService.parse(token);
+        ParsedToken second = jwtService.parse(token);
+
+        // Assert
+        assertEquals("test@example.com", first.subject());
+        assertEquals("test@example.com", second.subject());
+        VerifiedClaimsCache.Stats stats = jwtService.claimsCacheStats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void parse_TamperedTokenIsRejectedAndNotCached() {
+        // Arrange
+        String token = jwtService.generateAccessToken(testUser);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertEquals(ParsedToken.FailureReason.INVALID_SIGNATURE, jwtService.parse(tampered).failure());
+        assertEquals(0, jwtService.claimsCacheStats().size());
+    }
+
+    @Test
+    void parse_ExpiredTokenIsRejected() {
+        // Arrange
+        JwtService shortLived = new JwtService(JwtKeyRing.hmac(SECRET), -1_000, 604_800_000, true, 100, false, new SimpleMeterRegistry());
+        String token = shortLived.generateAccessToken(testUser);
+
+        // Act & Assert
+        assertEquals(ParsedToken.FailureReason.EXPIRED, shortLived.parse(token).failure());
+    }
+
+    @Test
+    void claimsCache_DoesNotGrowBeyondMaxSize() {
+        // Arrange
+        JwtService bounded = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, true, 2, false, new SimpleMeterRegistry());
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            assertTrue(bounded.parse(bounded.generateAccessToken(user)).isValid());
+        }
+
+        // Assert
+        assertEquals(2, bounded.claimsCacheStats().size());
+    }
+
+    @Test
+    void claimsCache_Disabled() {
+        // Arrange
+        JwtService uncached = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, false, 100, false, new SimpleMeterRegistry());
+        String token = uncached.generateAccessToken(testUser);
+
+        // Act & Assert
+        assertTrue(uncached.parse(token).isValid());
+        assertNull(uncached.claimsCacheStats());
+    }
+
+    @Test
+    void metrics_TimeSigningAndUncachedVerification() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtService timed = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, true, 100, false, registry);
+        String token = timed.generateAccessToken(testUser);
+
+        // Act
+        timed.parse(token);
+        timed.parse(token);
+        timed.parse("not-a-token");
+
+        // Assert
+        assertEquals(1, registry.get("auth.jwt.sign").tag("type", "access").timer().count());
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(1, registry.get("auth.jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+}
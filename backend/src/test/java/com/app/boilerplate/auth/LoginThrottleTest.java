@@ -0,0 +1,73 @@
+package com.app.boilerplate.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        // 3 attempts per email and 10 per IP, each refilling one token every 20s / 6s
+        throttle = new LoginThrottle(new SimpleMeterRegistry(), true,
+                new LoginThrottle.Limit(3, 3), new LoginThrottle.Limit(10, 10), clock::get);
+    }
+
+    @Test
+    void email_AllowsBurstThenThrottlesUntilRefill() {
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, throttle.tryAcquire("user@example.com", "10.0.0." + i));
+        }
+        assertEquals(20, throttle.tryAcquire("user@example.com", "10.0.0.9"));
+
+        clock.addAndGet(20_000);
+        assertEquals(0, throttle.tryAcquire("user@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    void email_IsNormalized() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.tryAcquire("User@Example.com", "10.0.0." + i);
+        }
+
+        // Act & Assert
+        assertTrue(throttle.tryAcquire("  user@example.COM ", "10.0.0.9") > 0);
+    }
+
+    @Test
+    void ip_ThrottlesAcrossManyEmails() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, throttle.tryAcquire("user" + i + "@example.com", "10.0.0.1"));
+        }
+
+        // Assert
+        assertTrue(throttle.tryAcquire("other@example.com", "10.0.0.1") > 0);
+        assertEquals(0, throttle.tryAcquire("other@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void evictIdle_DropsOnlyRefilledBuckets() {
+        // Arrange
+        throttle.tryAcquire("idle@example.com", "10.0.0.1");
+        clock.addAndGet(60_000);
+        for (int i = 0; i < 3; i++) {
+            throttle.tryAcquire("busy@example.com", "10.0.0.2");
+        }
+
+        // Act
+        throttle.evictIdle();
+
+        // Assert: only the busy email and its IP remain
+        assertEquals(2, throttle.size());
+    }
+}
@@ -0,0 +1,100 @@
+package com.app.boilerplate.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderFactoryTest {
+
+    @Test
+    void legacyUnprefixedBcryptHash_MatchesAndNeedsUpgrade() {
+        // Arrange
+        PasswordEncoder encoder = factory(PasswordEncoderFactory.Algorithm.BCRYPT, false).create();
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void bcrypt_AtOrAboveMinimumIsCurrent_BelowNeedsUpgrade() {
+        // Arrange: minimum cost 5
+        PasswordEncoder encoder = new PasswordEncoderFactory(
+                PasswordEncoderFactory.Algorithm.BCRYPT, false, 250, 5, 1024, 1).create();
+        String current = encoder.encode("password123");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("password123");
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123");
+
+        // Act & Assert
+        assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(encoder.upgradeEncoding(current));
+        assertFalse(encoder.upgradeEncoding(stronger));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.matches("password123", weaker));
+    }
+
+    @Test
+    void nodesWithDifferentCalibratedCosts_KeepEachOthersHashes() {
+        // Arrange: same cluster-wide minimum, different cost picked per node
+        PasswordEncoder nodeA = new PasswordEncoderFactory.MinCostBCrypt(4, 4);
+        PasswordEncoder nodeB = new PasswordEncoderFactory.MinCostBCrypt(5, 4);
+        String hashFromA = nodeA.encode("password123");
+        String hashFromB = nodeB.encode("password123");
+
+        // Act & Assert
+        assertTrue(nodeB.matches("password123", hashFromA));
+        assertFalse(nodeB.upgradeEncoding(hashFromA));
+        assertTrue(nodeA.matches("password123", hashFromB));
+        assertFalse(nodeA.upgradeEncoding(hashFromB));
+    }
+
+    @Test
+    void argon2_HigherIterationsKept_BelowMinimumUpgraded() {
+        // Arrange: minimum t=1, m=1024
+        PasswordEncoder encoder = new PasswordEncoderFactory.MinCostArgon2(1024, 2, 1);
+        String stronger = new PasswordEncoderFactory.MinCostArgon2(1024, 3, 1).encode("password123");
+        String lessMemory = new PasswordEncoderFactory.MinCostArgon2(512, 2, 1).encode("password123");
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+        assertFalse(encoder.upgradeEncoding(stronger));
+        assertTrue(encoder.upgradeEncoding(lessMemory));
+    }
+
+    @Test
+    void switchingToArgon2_UpgradesBcryptHashes() {
+        // Arrange
+        String bcryptHash = factory(PasswordEncoderFactory.Algorithm.BCRYPT, false).create().encode("password123");
+        PasswordEncoder encoder = factory(PasswordEncoderFactory.Algorithm.ARGON2ID, false).create();
+
+        // Act
+        String argon2Hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(argon2Hash.startsWith("{argon2}$argon2id$"));
+        assertTrue(encoder.matches("password123", argon2Hash));
+        assertFalse(encoder.upgradeEncoding(argon2Hash));
+        assertTrue(encoder.matches("password123", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+    }
+
+    @Test
+    void calibration_NeverGoesBelowMinimumCost() {
+        // Arrange: a target far below what any cost can reach
+        PasswordEncoderFactory factory = new PasswordEncoderFactory(
+                PasswordEncoderFactory.Algorithm.BCRYPT, true, 0, 4, 1024, 1);
+
+        // Act
+        String hash = factory.create().encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+    }
+
+    private static PasswordEncoderFactory factory(PasswordEncoderFactory.Algorithm algorithm, boolean calibrate) {
+        return new PasswordEncoderFactory(algorithm, calibrate, 250, 4, 1024, 1);
+    }
+}
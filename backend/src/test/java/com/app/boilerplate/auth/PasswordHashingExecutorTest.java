@@ -0,0 +1,124 @@
+package com.app.boilerplate.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void call_ReturnsResultFromPool() {
+        // Arrange
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 1_000, 0);
+
+        // Act
+        String thread = executor.call(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(thread.startsWith("password-hash-"));
+    }
+
+    @Test
+    void call_QueueFull_RejectsImmediately() throws Exception {
+        // Arrange
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 10_000, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.call(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> executor.call(() -> true));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        PasswordHashingRejectedException ex = assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.call(() -> true));
+        assertTrue(ex.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void call_WaitedTooLong_IsRejected() throws Exception {
+        // Arrange
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 4, 50, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> executor.call(() -> {
+            started.countDown();
+            Thread.sleep(200);
+            return true;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(PasswordHashingRejectedException.class, () -> executor.call(() -> true));
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "wait_exceeded").counter().count());
+    }
+
+    @Test
+    void call_HashRunsPastDeadline_IsRejected() {
+        // Arrange: deadline is 50ms plus twice the initial 250ms average
+        executor = new PasswordHashingExecutor(meterRegistry, 1, 4, 50, 0);
+
+        // Act & Assert
+        assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.call(() -> release.await(5, TimeUnit.SECONDS)));
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "timed_out").counter().count());
+    }
+
+    @Test
+    void runAll_RunsEveryTaskWithinBulkShare() {
+        // Arrange
+        executor = new PasswordHashingExecutor(meterRegistry, 4, 64, 1_000, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        List<Runnable> work = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            work.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.incrementAndGet();
+            });
+        }
+
+        // Act
+        executor.runAll(work);
+
+        // Assert
+        assertEquals(20, done.get());
+        assertTrue(maxRunning.get() <= 2);
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (meterRegistry.get("auth.password.hashing.queue.depth").gauge().value() < depth
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.app.boilerplate.auth;
+
+import com.app.boilerplate.common.util.AuditLogger;
+import com.app.boilerplate.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String SECRET = "0123456789012345678901234567890123456789012345678901234567890123";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private AuditLogger auditLogger;
+
+    private JwtService jwtService;
+    private RefreshTokenService refreshTokenService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(JwtKeyRing.hmac(SECRET), 900_000, 604_800_000, false, 1, false, new SimpleMeterRegistry());
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, jwtService, auditLogger, 100);
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("test@example.com");
+    }
+
+    @Test
+    void issue_PersistsAndIndexesJti() {
+        // Act
+        ParsedToken parsed = jwtService.parse(refreshTokenService.issue(testUser));
+
+        // Assert
+        assertTrue(parsed.isRefreshToken());
+        assertNotNull(parsed.family());
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        assertTrue(refreshTokenService.isLive(UUID.fromString(parsed.id())));
+    }
+
+    @Test
+    void rotate_ConsumesTokenAndKeepsFamily() {
+        // Arrange
+        ParsedToken original = jwtService.parse(refreshTokenService.issue(testUser));
+        when(refreshTokenRepository.deleteByJti(UUID.fromString(original.id()))).thenReturn(1);
+
+        // Act
+        ParsedToken rotated = jwtService.parse(refreshTokenService.rotate(original, testUser));
+
+        // Assert
+        assertEquals(original.family(), rotated.family());
+        assertNotEquals(original.id(), rotated.id());
+        assertFalse(refreshTokenService.isLive(UUID.fromString(original.id())));
+        assertTrue(refreshTokenService.isLive(UUID.fromString(rotated.id())));
+        verify(refreshTokenRepository, never()).findById(any());
+    }
+
+    @Test
+    void rotate_ReusedTokenRevokesFamily() {
+        // Arrange
+        ParsedToken original = jwtService.parse(refreshTokenService.issue(testUser));
+        when(refreshTokenRepository.deleteByJti(any())).thenReturn(1);
+        ParsedToken rotated = jwtService.parse(refreshTokenService.rotate(original, testUser));
+        when(refreshTokenRepository.findById(UUID.fromString(original.id()))).thenReturn(Optional.empty());
+
+        // Act
+        String result = refreshTokenService.rotate(original, testUser);
+
+        // Assert
+        assertNull(result);
+        verify(refreshTokenRepository).deleteByFamilyId(UUID.fromString(original.family()));
+        assertFalse(refreshTokenService.isLive(UUID.fromString(rotated.id())));
+    }
+
+    @Test
+    void rotate_IndexMissFallsBackToTable() {
+        // Arrange
+        UUID jti = UUID.randomUUID();
+        UUID family = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        RefreshToken row = new RefreshToken();
+        row.setJti(jti);
+        row.setUserId(1L);
+        row.setFamilyId(family);
+        row.setExpiresAt(expiresAt);
+        ParsedToken token = jwtService.parse(
+                jwtService.generateRefreshToken(testUser, jti.toString(), family.toString(), expiresAt));
+        when(refreshTokenRepository.findById(jti)).thenReturn(Optional.of(row));
+        when(refreshTokenRepository.deleteByJti(jti)).thenReturn(1);
+
+        // Act
+        String result = refreshTokenService.rotate(token, testUser);
+
+        // Assert
+        assertNotNull(result);
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    void revokeFamily_RemovesOnlyThatFamily() {
+        // Arrange
+        ParsedToken first = jwtService.parse(refreshTokenService.issue(testUser));
+        ParsedToken second = jwtService.parse(refreshTokenService.issue(testUser));
+
+        // Act
+        refreshTokenService.revokeFamily(UUID.fromString(first.family()), 1L);
+
+        // Assert
+        assertFalse(refreshTokenService.isLive(UUID.fromString(first.id())));
+        assertTrue(refreshTokenService.isLive(UUID.fromString(second.id())));
+        assertEquals(1, refreshTokenService.indexedFamilies());
+        assertEquals(1, refreshTokenService.indexedUsers());
+    }
+
+    @Test
+    void revokeAllForUser_RemovesOnlyThatUsersTokens() {
+        // Arrange
+        User otherUser = new User();
+        otherUser.setId(2L);
+        otherUser.setEmail("other@example.com");
+        ParsedToken first = jwtService.parse(refreshTokenService.issue(testUser));
+        ParsedToken second = jwtService.parse(refreshTokenService.issue(testUser));
+        ParsedToken other = jwtService.parse(refreshTokenService.issue(otherUser));
+
+        // Act
+        refreshTokenService.revokeAllForUser(1L);
+
+        // Assert
+        assertFalse(refreshTokenService.isLive(UUID.fromString(first.id())));
+        assertFalse(refreshTokenService.isLive(UUID.fromString(second.id())));
+        assertTrue(refreshTokenService.isLive(UUID.fromString(other.id())));
+        assertEquals(1, refreshTokenService.indexedFamilies());
+        assertEquals(1, refreshTokenService.indexedUsers());
+        verify(refreshTokenRepository).deleteByUserId(1L);
+    }
+
+    @Test
+    void sweepExpired_DeletesInBatches() {
+        // Arrange
+        when(refreshTokenRepository.deleteExpiredBatch(any(Instant.class), eq(100))).thenReturn(100, 100, 7);
+
+        // Act
+        refreshTokenService.sweepExpired();
+
+        // Assert
+        verify(refreshTokenRepository, times(3)).deleteExpiredBatch(any(Instant.class), eq(100));
+    }
+}
@@ -0,0 +1,77 @@
+package com.app.boilerplate.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationListTest {
+
+    private TokenRevocationList revocationList;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(1_000, 0.01);
+        now = System.currentTimeMillis();
+    }
+
+    @Test
+    void revokeJti_OnlyThatTokenIsRevoked() {
+        // Act
+        revocationList.revokeJti("jti-1", now + 60_000);
+
+        // Assert
+        assertTrue(revocationList.isRevoked("jti-1", "a@example.com", now));
+        assertFalse(revocationList.isRevoked("jti-2", "a@example.com", now));
+    }
+
+    @Test
+    void revokeSubjectBefore_RevokesOlderTokensOnly() {
+        // Act
+        revocationList.revokeSubjectBefore("a@example.com", now, now + 60_000);
+
+        // Assert
+        assertTrue(revocationList.isRevoked("jti-1", "a@example.com", now - 5_000));
+        assertFalse(revocationList.isRevoked("jti-2", "a@example.com", now + 5_000));
+        assertFalse(revocationList.isRevoked("jti-3", "b@example.com", now - 5_000));
+    }
+
+    @Test
+    void purgeExpired_DropsExpiredAndKeepsLiveEntries() {
+        // Arrange
+        revocationList.revokeJti("live", now + 60_000);
+        revocationList.revokeJti("expired", now - 1);
+        revocationList.revokeSubjectBefore("a@example.com", now, now - 1);
+
+        // Act
+        revocationList.purgeExpired();
+
+        // Assert
+        assertEquals(1, revocationList.revokedTokenCount());
+        assertEquals(0, revocationList.subjectMarkerCount());
+        assertTrue(revocationList.isRevoked("live", null, now));
+        assertFalse(revocationList.isRevoked("expired", null, now));
+    }
+
+    @Test
+    void bloomFilter_HasNoFalseNegatives() {
+        // Arrange
+        RevocationBloomFilter bloom = new RevocationBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.put("jti-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("jti-" + i));
+            if (bloom.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
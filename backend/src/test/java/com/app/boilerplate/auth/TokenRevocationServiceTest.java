@@ -0,0 +1,179 @@
+package com.app.boilerplate.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private TokenRevocationRepository repository;
+    private TokenRevocationService service;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevocationRepository.class);
+        now = System.currentTimeMillis();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void apply_JtiPayload_RevokesThatToken() {
+        // Arrange
+        service = service(false, List.of());
+
+        // Act
+        service.apply("J|" + (now + 60_000) + "|jti-1");
+
+        // Assert
+        assertTrue(service.isRevoked(token("jti-1", "a@example.com", now)));
+        assertFalse(service.isRevoked(token("jti-2", "a@example.com", now)));
+    }
+
+    @Test
+    void apply_SubjectPayload_RevokesTokensIssuedBefore() {
+        // Arrange
+        service = service(false, List.of());
+
+        // Act: subjects may contain the separator
+        service.apply("U|" + now + "|" + (now + 60_000) + "|a|b@example.com");
+
+        // Assert
+        assertTrue(service.isRevoked(token("jti-1", "a|b@example.com", now - 5_000)));
+        assertFalse(service.isRevoked(token("jti-2", "a|b@example.com", now + 5_000)));
+    }
+
+    @Test
+    void apply_MalformedOrUnknownPayload_Ignored() {
+        // Arrange
+        service = service(false, List.of());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> service.apply("J|not-a-number|jti-1"));
+        assertDoesNotThrow(() -> service.apply("U|1"));
+        assertDoesNotThrow(() -> service.apply("X|whatever"));
+        assertFalse(service.isRevoked(token("jti-1", "a@example.com", now)));
+    }
+
+    @Test
+    void start_ListenDisabled_LoadsPersistedRevocations() {
+        // Arrange
+        service = service(false, List.of(jtiRow("jti-1"), subjectRow("a@example.com", now)));
+
+        // Act
+        service.start();
+
+        // Assert
+        assertTrue(service.isRevoked(token("jti-1", "b@example.com", now)));
+        assertTrue(service.isRevoked(token("jti-2", "a@example.com", now - 5_000)));
+        assertFalse(service.isRevoked(token("jti-3", "b@example.com", now)));
+    }
+
+    @Test
+    void start_IssuesListenBeforeLoadingTable() throws Exception {
+        // Arrange
+        Connection connection = listenerConnection(false);
+        service = service(true, List.of(jtiRow("jti-1")), connection);
+
+        // Act
+        service.start();
+
+        // Assert
+        Statement statement = connection.createStatement();
+        InOrder order = inOrder(statement, repository);
+        order.verify(statement).execute("LISTEN " + TokenRevocationService.CHANNEL);
+        order.verify(repository).findByExpiresAtAfter(any());
+        assertTrue(service.isRevoked(token("jti-1", "a@example.com", now)));
+    }
+
+    @Test
+    void listen_FailedLivenessQuery_ReconnectsAndReloads() throws Exception {
+        // Arrange
+        Connection dead = listenerConnection(true);
+        Connection healthy = listenerConnection(false);
+        service = service(true, List.of(), dead, healthy);
+
+        // Act
+        service.start();
+
+        // Assert: startup load, then a reload after reconnecting (backoff 1s)
+        verify(repository, timeout(5_000).times(2)).findByExpiresAtAfter(any());
+        verify(dead, timeout(5_000)).close();
+        verify(healthy.createStatement(), timeout(5_000)).execute("LISTEN " + TokenRevocationService.CHANNEL);
+    }
+
+    private TokenRevocationService service(boolean listen, List<TokenRevocation> rows, Connection... connections) {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(rows);
+        Deque<Connection> pending = new ArrayDeque<>(List.of(connections));
+        return new TokenRevocationService(repository, null, null, 900_000, 1_000, 0.01, listen, 10, 0, 30_000) {
+            @Override
+            Connection openListenConnection() throws SQLException {
+                Connection next = pending.poll();
+                if (next == null) {
+                    throw new SQLException("no more connections");
+                }
+                return next;
+            }
+        };
+    }
+
+    /**
+     * @param deadOnLiveness SELECT 1 fails, as on a half-open connection hitting its socket timeout
+     */
+    private static Connection listenerConnection(boolean deadOnLiveness) throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getNotifications(anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(10);
+            return null;
+        });
+        if (deadOnLiveness) {
+            when(statement.execute("SELECT 1")).thenThrow(new SQLException("Read timed out"));
+        }
+        return connection;
+    }
+
+    private static ParsedToken token(String jti, String subject, long issuedAtMs) {
+        return ParsedToken.valid(subject, "access", jti, null,
+                Instant.ofEpochMilli(issuedAtMs), Instant.ofEpochMilli(issuedAtMs + 900_000));
+    }
+
+    private TokenRevocation jtiRow(String jti) {
+        TokenRevocation row = new TokenRevocation();
+        row.setJti(jti);
+        row.setExpiresAt(Instant.ofEpochMilli(now + 60_000));
+        return row;
+    }
+
+    private TokenRevocation subjectRow(String subject, long revokedBeforeMs) {
+        TokenRevocation row = new TokenRevocation();
+        row.setSubject(subject);
+        row.setRevokedBefore(Instant.ofEpochMilli(revokedBeforeMs));
+        row.setExpiresAt(Instant.ofEpochMilli(now + 60_000));
+        return row;
+    }
+}
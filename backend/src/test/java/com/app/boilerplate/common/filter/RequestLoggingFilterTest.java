@@ -0,0 +1,154 @@
+package com.app.boilerplate.common.filter;
+
+import com.app.boilerplate.common.latency.RouteLatencyRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingFilterTest {
+
+    @Test
+    void doFilter_WritesGoStraightToResponse() throws Exception {
+        // Arrange
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteLatencyRecorder(60_000, 2, false), 1.0, List.of(), 500, 1024);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicInteger visibleDuringHandler = new AtomicInteger();
+        FilterChain handler = (req, res) -> {
+            res.getOutputStream().write(new byte[10_000]);
+            visibleDuringHandler.set(response.getContentAsByteArray().length);
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/users/export"), response, handler);
+
+        // Assert
+        assertEquals(10_000, visibleDuringHandler.get());
+        assertEquals(10_000, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void countingResponse_CountsWithoutCapturingSuccess() throws Exception {
+        // Arrange
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(new MockHttpServletResponse(), 16, status -> status >= 500);
+
+        // Act
+        wrapper.getOutputStream().write("{\"id\":1,\"name\":\"A user\"}".getBytes(StandardCharsets.UTF_8));
+        wrapper.getOutputStream().write('\n');
+
+        // Assert
+        assertEquals(25, wrapper.written());
+        assertNull(wrapper.capturedBody());
+    }
+
+    @Test
+    void countingResponse_CapturesStartOfErrorBody() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response, 16, status -> status >= 500);
+        wrapper.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        wrapper.setCharacterEncoding("UTF-8");
+
+        // Act
+        wrapper.getWriter().write("{\"error\":\"Internal error\",\"code\":\"INTERNAL\"}");
+
+        // Assert
+        assertEquals(44, wrapper.written());
+        assertEquals("{\"error\":\"Intern", wrapper.capturedBody());
+        assertEquals("{\"error\":\"Internal error\",\"code\":\"INTERNAL\"}", response.getContentAsString());
+    }
+
+    @Test
+    void countingResponse_WriterOutput_CountsEncodedBytes() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response, 64, status -> true);
+
+        // Act: 2-byte, 3-byte and 4-byte (surrogate pair) characters
+        wrapper.getWriter().write("{\"name\":\"Zoë 日本 \uD83D\uDE00\"}");
+        wrapper.getWriter().flush();
+
+        // Assert
+        assertEquals(response.getContentAsByteArray().length, wrapper.written());
+        assertEquals("{\"name\":\"Zoë 日本 \uD83D\uDE00\"}", wrapper.capturedBody());
+    }
+
+    @Test
+    void countingResponse_Reset_DiscardsCountAndCapture() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(response, 64, status -> status >= 500);
+        wrapper.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+
+        // Act: an error handler replaces the half-written body
+        wrapper.reset();
+        wrapper.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        wrapper.getOutputStream().write("{\"code\":\"INTERNAL\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(19, wrapper.written());
+        assertEquals("{\"code\":\"INTERNAL\"}", wrapper.capturedBody());
+    }
+
+    @Test
+    void countingResponse_ResetBuffer_DiscardsCountAndCapture() throws Exception {
+        // Arrange
+        CountingResponseWrapper wrapper = new CountingResponseWrapper(new MockHttpServletResponse(), 64, status -> true);
+        wrapper.getWriter().write("partial");
+
+        // Act
+        wrapper.resetBuffer();
+
+        // Assert
+        assertEquals(0, wrapper.written());
+        assertNull(wrapper.capturedBody());
+    }
+
+    @Test
+    void doFilter_CaptureRoute_ReadsRequestBodyOnlyUpToLimit() throws Exception {
+        // Arrange
+        RequestLoggingFilter filter = new RequestLoggingFilter(new RouteLatencyRecorder(60_000, 2, false), 0.0, List.of("/api/auth/**"), 500, 8);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/register");
+        request.setContent("{\"email\":\"user@example.com\"}".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger read = new AtomicInteger();
+        FilterChain handler = (req, res) -> read.set(req.getInputStream().readAllBytes().length);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), handler);
+
+        // Assert
+        assertEquals(28, read.get());
+    }
+
+    @Test
+    void redact_SecretFields_ValuesReplaced() {
+        // Arrange
+        String body = "{\"email\":\"user@example.com\",\"password\":\"hunter2 \\\"quoted\\\"\",\"refreshToken\" : \"abc.def\"}";
+
+        // Act
+        String redacted = RequestLoggingFilter.redact(body);
+
+        // Assert
+        assertEquals("{\"email\":\"user@example.com\",\"password\":\"[REDACTED]\",\"refreshToken\" : \"[REDACTED]\"}", redacted);
+    }
+
+    @Test
+    void redact_ValueCutOffAtLimit_StillRedacted() {
+        // Arrange
+        String body = "{\"accessToken\":\"eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOi";
+
+        // Act
+        String redacted = RequestLoggingFilter.redact(body);
+
+        // Assert
+        assertEquals("{\"accessToken\":\"[REDACTED]\"", redacted);
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.boilerplate.common.latency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteLatencyRecorderTest {
+
+    private final RouteLatencyRecorder recorder = new RouteLatencyRecorder(60_000, 2, false);
+
+    @Test
+    void rollover_ReportsPercentilesPerRouteAndStatusClass() {
+        // Arrange
+        for (int ms = 1; ms <= 1000; ms++) {
+            recorder.record("GET", "/api/users/{id}", 200, TimeUnit.MILLISECONDS.toNanos(ms));
+        }
+        recorder.record("GET", "/api/users/{id}", 404, TimeUnit.MILLISECONDS.toNanos(3));
+
+        // Act
+        recorder.rollover();
+        LatencyReport report = recorder.report();
+
+        // Assert
+        assertEquals(2, report.interval().size());
+        RouteLatency ok = report.interval().get(0);
+        assertEquals("2xx", ok.status());
+        assertEquals(1000, ok.count());
+        assertEquals(500, ok.p50(), 5);
+        assertEquals(900, ok.p90(), 9);
+        assertEquals(990, ok.p99(), 10);
+        assertEquals(999, ok.p999(), 10);
+        assertEquals(1000, ok.max(), 10);
+        RouteLatency notFound = report.interval().get(1);
+        assertEquals("4xx", notFound.status());
+        assertEquals(1, notFound.count());
+        assertNotNull(report.intervalEnd());
+    }
+
+    @Test
+    void rollover_StartsNewIntervalAndAccumulatesTotal() {
+        // Arrange
+        recorder.record("POST", "/api/auth/login", 200, TimeUnit.MILLISECONDS.toNanos(10));
+        recorder.rollover();
+        recorder.record("POST", "/api/auth/login", 200, TimeUnit.MILLISECONDS.toNanos(20));
+        recorder.record("POST", "/api/auth/login", 200, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // Act
+        recorder.rollover();
+        LatencyReport report = recorder.report();
+
+        // Assert
+        assertEquals(2, report.interval().get(0).count());
+        assertEquals(3, report.total().get(0).count());
+        assertEquals(20, report.total().get(0).p50(), 0.2);
+        assertEquals(30, report.total().get(0).max(), 0.3);
+        assertNotNull(report.intervalStart());
+    }
+
+    @Test
+    void report_EmptyIntervalOmitted_TotalKept() {
+        // Arrange
+        recorder.record("GET", "/api/users", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.rollover();
+
+        // Act
+        recorder.rollover();
+        LatencyReport report = recorder.report();
+
+        // Assert
+        assertTrue(report.interval().isEmpty());
+        assertEquals(1, report.total().size());
+    }
+
+    @Test
+    void record_UnmatchedRouteAndOutOfRangeValues() {
+        // Arrange
+        recorder.record("GET", null, 404, 10);
+        recorder.record("GET", null, 404, TimeUnit.MINUTES.toNanos(5));
+
+        // Act
+        recorder.rollover();
+        RouteLatency latency = recorder.report().interval().get(0);
+
+        // Assert
+        assertEquals(RouteLatencyRecorder.UNMATCHED, latency.route());
+        assertEquals(2, latency.count());
+        assertEquals(60_000, latency.max(), 600);
+    }
+
+    @Test
+    void record_NonStandardMethodsAndStatuses_ShareOneKey() {
+        // Arrange
+        recorder.record("FOO", "/api/users", 200, TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.record("BAR", "/api/users", 200, TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.record("GET", "/api/users", 999, TimeUnit.MILLISECONDS.toNanos(1));
+
+        // Act
+        recorder.rollover();
+        LatencyReport report = recorder.report();
+
+        // Assert
+        assertEquals(2, report.interval().size());
+        RouteLatency get = report.interval().get(0);
+        assertEquals("GET", get.method());
+        assertEquals("other", get.status());
+        RouteLatency other = report.interval().get(1);
+        assertEquals(RouteLatencyRecorder.OTHER_METHOD, other.method());
+        assertEquals("2xx", other.status());
+        assertEquals(2, other.count());
+    }
+}
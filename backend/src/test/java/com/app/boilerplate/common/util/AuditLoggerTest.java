@@ -0,0 +1,172 @@
+package com.app.boilerplate.common.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLoggerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> lines = new CopyOnWriteArrayList<>();
+    private final Consumer<String> collect = batch -> lines.addAll(List.of(batch.split("\n")));
+
+    @Test
+    void log_WritesNdjsonOnWriterThread() throws Exception {
+        // Arrange
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        AuditLogger auditLogger = new AuditLogger(registry, 16, 8, AuditLogger.FullPolicy.BLOCK, batch -> {
+            writerThreads.add(Thread.currentThread().getName());
+            collect.accept(batch);
+        });
+
+        // Act
+        auditLogger.logAuthFailure("user@example.com", "invalid_password");
+        auditLogger.log("USER_DELETED", "42");
+        auditLogger.close();
+
+        // Assert
+        assertEquals(2, lines.size());
+        JsonNode failure = objectMapper.readTree(lines.get(0));
+        assertEquals("AUTH_FAILURE", failure.get("event").asText());
+        assertTrue(failure.get("userId").isNull());
+        assertEquals("invalid_password", failure.get("details").get("reason").asText());
+        assertTrue(failure.get("ts").asText().matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z"));
+        assertEquals("42", objectMapper.readTree(lines.get(1)).get("userId").asText());
+        assertTrue(writerThreads.stream().allMatch("audit-writer"::equals));
+        assertEquals(1, registry.get("auth.failures").tag("reason", "invalid_password").counter().count());
+        assertEquals(1, registry.get("audit.events").tag("event", "USER_DELETED").counter().count());
+    }
+
+    @Test
+    void close_FlushesEveryEventFromConcurrentProducers() throws Exception {
+        // Arrange
+        AuditLogger auditLogger = new AuditLogger(registry, 64, 16, AuditLogger.FullPolicy.BLOCK, collect);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+
+        // Act
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(producers.submit(() -> {
+                    for (int i = 0; i < 2_500; i++) {
+                        auditLogger.log("LOAD", thread + ":" + i, Map.of("i", i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+        auditLogger.close();
+
+        // Assert
+        assertEquals(10_000, lines.size());
+        assertEquals(10_000, lines.stream().distinct().count());
+    }
+
+    @Test
+    void close_WhileProducersLog_LosesNoEvent() throws Exception {
+        // Arrange
+        AuditLogger auditLogger = new AuditLogger(registry, 64, 16, AuditLogger.FullPolicy.BLOCK, collect);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch started = new CountDownLatch(4);
+
+        // Act: events logged after close are written directly, the rest by the writer or the final drain
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(producers.submit(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 2_500; i++) {
+                        auditLogger.log("LOAD", thread + ":" + i, Map.of("i", i));
+                    }
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            auditLogger.close();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(10_000, lines.size());
+        assertEquals(10_000, lines.stream().distinct().count());
+    }
+
+    @Test
+    void fullBuffer_DropPolicy_CountsDroppedEvents() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        AuditLogger auditLogger = new AuditLogger(registry, 4, 1, AuditLogger.FullPolicy.DROP, stalledWriter(release));
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            auditLogger.log("LOAD", String.valueOf(i));
+        }
+        release.countDown();
+        auditLogger.close();
+
+        // Assert
+        double dropped = registry.get("audit.dropped").counter().count();
+        assertTrue(dropped > 0);
+        assertEquals(20, lines.size() + (long) dropped);
+    }
+
+    @Test
+    void fullBuffer_SpillPolicy_WritesOnCallingThread() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        AuditLogger auditLogger = new AuditLogger(registry, 4, 1, AuditLogger.FullPolicy.SPILL, stalledWriter(release));
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            auditLogger.log("LOAD", String.valueOf(i));
+        }
+        int spilledBeforeRelease = lines.size();
+        release.countDown();
+        auditLogger.close();
+
+        // Assert
+        assertTrue(spilledBeforeRelease > 0);
+        assertEquals(spilledBeforeRelease, (int) registry.get("audit.spilled").counter().count());
+        assertEquals(20, lines.size());
+    }
+
+    /**
+     * Sink that holds the writer thread until released but accepts spilled events immediately
+     */
+    private Consumer<String> stalledWriter(CountDownLatch release) {
+        return batch -> {
+            if (Thread.currentThread().getName().equals("audit-writer")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            collect.accept(batch);
+        };
+    }
+}
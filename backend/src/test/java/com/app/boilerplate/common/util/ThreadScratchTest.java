@@ -0,0 +1,72 @@
+package com.app.boilerplate.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreadScratchTest {
+
+    @Test
+    void acquire_PlatformThread_ReturnsSameInstance() {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        ThreadScratch<Object> scratch = new ThreadScratch<>(() -> new Object[]{created.incrementAndGet()});
+
+        // Act
+        Object first = scratch.acquire();
+        scratch.release(first);
+        Object second = scratch.acquire();
+        scratch.release(second);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void acquire_VirtualThreads_ReuseReleasedInstance() throws Exception {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        ThreadScratch<Object> scratch = new ThreadScratch<>(() -> new Object[]{created.incrementAndGet()});
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            first.set(scratch.acquire());
+            scratch.release(first.get());
+        }).join();
+        Thread.ofVirtual().start(() -> {
+            second.set(scratch.acquire());
+            scratch.release(second.get());
+        }).join();
+
+        // Assert
+        assertSame(first.get(), second.get());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void release_VirtualThreads_PoolIsBounded() throws Exception {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        ThreadScratch<Object> scratch = new ThreadScratch<>(() -> new Object[]{created.incrementAndGet()}, 1);
+
+        // Act: two held at once, only one kept
+        Thread.ofVirtual().start(() -> {
+            Object a = scratch.acquire();
+            Object b = scratch.acquire();
+            scratch.release(a);
+            scratch.release(b);
+            scratch.release(scratch.acquire());
+            scratch.acquire();
+            scratch.acquire();
+        }).join();
+
+        // Assert
+        assertEquals(3, created.get());
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.boilerplate.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTest {
+
+    @Test
+    void authEndpointHistograms_OnlyForAuthRoutes() {
+        // Arrange
+        MeterFilter filter = new MetricsConfig().authEndpointHistograms();
+
+        // Act
+        DistributionStatisticConfig login = filter.configure(requestTimer("/api/auth/login"), DistributionStatisticConfig.NONE);
+        DistributionStatisticConfig profile = filter.configure(requestTimer("/api/users/me"), DistributionStatisticConfig.NONE);
+
+        // Assert
+        assertEquals(Boolean.TRUE, login.isPercentileHistogram());
+        assertNotEquals(Boolean.TRUE, profile.isPercentileHistogram());
+    }
+
+    private static Meter.Id requestTimer(String uri) {
+        return new Meter.Id("http.server.requests", Tags.of("uri", uri), null, null, Meter.Type.TIMER);
+    }
+}
@@ -0,0 +1,175 @@
+package com.app.boilerplate.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        lenient().when(primary.getConnection()).thenReturn(primaryConnection);
+        lenient().when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-0", replica)), 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_OutsideReadOnlyTransaction_UsesPrimary() throws SQLException {
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransaction_UsesReplica() throws SQLException {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ReadOnlyTransaction_UsesPrimary() throws SQLException {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(primary.getConnection("report", "secret")).thenReturn(primaryConnection);
+
+        // Act & Assert
+        assertSame(primaryConnection, routing.getConnection("report", "secret"));
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void getConnection_OnPrimary_IgnoresReadOnlyFlag() {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        Connection connection = ReplicaRoutingDataSource.onPrimary(() -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Assert
+        assertSame(primaryConnection, connection);
+    }
+
+    @Test
+    void getConnection_ReplicaFails_FallsBackToPrimaryUntilHealthy() throws SQLException {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // Act
+        Connection first = routing.getConnection();
+        Connection second = routing.getConnection();
+
+        // Assert
+        assertSame(primaryConnection, first);
+        assertSame(primaryConnection, second);
+        assertFalse(routing.replicas().get(0).isHealthy());
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void checkReplicas_ReplicaReachable_PutsItBackInRotation() throws SQLException {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        routing.getConnection();
+        reset(replica);
+        Connection probe = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(probe.createStatement().executeQuery(ReplicaRoutingDataSource.LAG_QUERY).getDouble(1)).thenReturn(0.0);
+        when(replica.getConnection()).thenReturn(probe, replicaConnection);
+
+        // Act
+        routing.checkReplicas();
+
+        // Assert
+        assertTrue(routing.replicas().get(0).isHealthy());
+        assertSame(replicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void checkReplicas_ReplicaLagging_TakesItOutOfRotation() throws SQLException {
+        // Arrange
+        Connection probe = mock(Connection.class, RETURNS_DEEP_STUBS);
+        when(probe.createStatement().executeQuery(ReplicaRoutingDataSource.LAG_QUERY).getDouble(1)).thenReturn(30.0);
+        when(replica.getConnection()).thenReturn(probe);
+
+        // Act
+        routing.checkReplicas();
+
+        // Assert
+        assertFalse(routing.replicas().get(0).isHealthy());
+    }
+
+    /**
+     * Against two local Postgres instances, e.g.
+     * REPLICA_TEST_PRIMARY_URL=jdbc:postgresql://localhost:5432/postgres
+     * REPLICA_TEST_REPLICA_URL=jdbc:postgresql://localhost:5433/postgres
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = "REPLICA_TEST_REPLICA_URL", matches = ".+")
+    void twoInstances_ReadOnlyTransactionsReachReplica() {
+        // Arrange
+        String user = System.getenv().getOrDefault("DATABASE_USER", "postgres");
+        String password = System.getenv().getOrDefault("DATABASE_PASSWORD", "postgres");
+        DataSource primaryDb = new DriverManagerDataSource(System.getenv("REPLICA_TEST_PRIMARY_URL"), user, password);
+        DataSource replicaDb = new DriverManagerDataSource(System.getenv("REPLICA_TEST_REPLICA_URL"), user, password);
+        ReplicaRoutingDataSource routed = new ReplicaRoutingDataSource(primaryDb,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-0", replicaDb)), 10_000);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routed);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        String portQuery = "SELECT inet_server_port()";
+        Integer primaryPort = new JdbcTemplate(primaryDb).queryForObject(portQuery, Integer.class);
+        Integer replicaPort = new JdbcTemplate(replicaDb).queryForObject(portQuery, Integer.class);
+
+        // Act
+        routed.checkReplicas();
+        Integer readOnlyPort = readOnly.execute(status -> jdbc.queryForObject(portQuery, Integer.class));
+        Integer readWritePort = readWrite.execute(status -> jdbc.queryForObject(portQuery, Integer.class));
+
+        // Assert
+        assertNotEquals(primaryPort, replicaPort, "Point the two URLs at different instances");
+        assertEquals(replicaPort, readOnlyPort);
+        assertEquals(primaryPort, readWritePort);
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.boilerplate.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    @Test
+    void prometheusOnManagementPort_ManagementPort_Matches() {
+        // Arrange
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(8081);
+
+        // Act & Assert
+        assertTrue(matcher.matches(request(8081, SecurityConfig.PROMETHEUS_PATH)));
+    }
+
+    @Test
+    void prometheusOnManagementPort_ApplicationPort_DoesNotMatch() {
+        // Arrange
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(8081);
+
+        // Act & Assert
+        assertFalse(matcher.matches(request(8080, SecurityConfig.PROMETHEUS_PATH)));
+        assertFalse(matcher.matches(request(8081, "/actuator/metrics")));
+    }
+
+    @Test
+    void prometheusOnManagementPort_NoSeparatePort_NeverMatches() {
+        // Arrange
+        RequestMatcher matcher = SecurityConfig.prometheusOnManagementPort(-1);
+
+        // Act & Assert
+        assertFalse(matcher.matches(request(8080, SecurityConfig.PROMETHEUS_PATH)));
+    }
+
+    private static MockHttpServletRequest request(int localPort, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setLocalPort(localPort);
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package com.app.boilerplate.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(meterRegistry, 5, 16);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void onPinned_BlockingInsideSynchronized_ReportsSite() throws Exception {
+        // Arrange
+        Object lock = new Object();
+
+        // Act
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(50);
+            }
+        }).join();
+
+        // Assert
+        awaitTrue(() -> monitor.sites().stream().anyMatch(site -> site.startsWith(getClass().getName())));
+        assertTrue(meterRegistry.get("jvm.threads.virtual.pinned").timer().count() >= 1);
+    }
+
+    @Test
+    void onPinned_JavaMailSocketRead_ReportsSite() throws Exception {
+        // Arrange: a server that accepts but never sends the SMTP greeting
+        try (ServerSocket server = new ServerSocket(0)) {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("127.0.0.1");
+            sender.setPort(server.getLocalPort());
+            Properties properties = new Properties();
+            properties.setProperty("mail.smtp.timeout", "100");
+            sender.setJavaMailProperties(properties);
+
+            // Act
+            Thread.ofVirtual().start(() -> {
+                try {
+                    sender.testConnection();
+                } catch (Exception expected) {
+                    // Read timeout
+                }
+            }).join();
+        }
+
+        // Assert
+        awaitTrue(() -> monitor.sites().stream().anyMatch(site -> site.contains(".mail.")));
+    }
+
+    @Test
+    void onPinned_BlockingOutsideSynchronized_NotReported() throws Exception {
+        // Act
+        Thread.ofVirtual().start(() -> sleep(50)).join();
+        Thread.sleep(2_000);
+
+        // Assert
+        assertTrue(monitor.sites().isEmpty(), "pinned at " + monitor.sites());
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * JFR streams events about once a second
+     */
+    private void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "no pinning reported, sites: " + monitor.sites());
+            Thread.sleep(50);
+        }
+    }
+}
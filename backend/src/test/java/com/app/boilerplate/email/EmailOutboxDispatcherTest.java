@@ -0,0 +1,108 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private EmailOutbox outbox;
+
+    @Mock
+    private EmailService emailService;
+
+    private SimpleMeterRegistry registry;
+    private EmailOutboxDispatcher dispatcher;
+    private ExecutorService senders;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(outbox, emailService, registry,
+                true, 1_000, 10, 2, 60_000, MAX_ATTEMPTS, 30_000, 3_600_000);
+        senders = Executors.newFixedThreadPool(2);
+        dispatcher.useSenders(senders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Test
+    void dispatchOnce_SendsClaimedRowsAndDeletesThem() throws Exception {
+        // Arrange
+        when(outbox.claim(10, 60, MAX_ATTEMPTS)).thenReturn(List.of(email(1, 1), email(2, 1)));
+
+        // Act
+        int claimed = dispatcher.dispatchOnce();
+
+        // Assert
+        assertEquals(2, claimed);
+        verify(emailService, times(2)).sendTemplate(anyString(), eq("Welcome"), eq("email/welcome"), anyMap());
+        verify(outbox).delete(1);
+        verify(outbox).delete(2);
+        assertEquals(2, registry.get("email.outbox.sent").counter().count());
+    }
+
+    @Test
+    void send_Failure_ReschedulesWithBackoff() throws Exception {
+        // Arrange
+        doThrow(new MessagingException("SMTP down")).when(emailService)
+                .sendTemplate(anyString(), anyString(), anyString(), anyMap());
+
+        // Act
+        dispatcher.send(email(7, 2));
+
+        // Assert
+        verify(outbox).reschedule(eq(7L), eq(60L), contains("SMTP down"));
+        verify(outbox, never()).delete(anyLong());
+        assertEquals(1, registry.get("email.outbox.retried").counter().count());
+    }
+
+    @Test
+    void send_LastAttemptFails_CountsDeadLetter() throws Exception {
+        // Arrange
+        doThrow(new MessagingException("mailbox unavailable")).when(emailService)
+                .sendTemplate(anyString(), anyString(), anyString(), anyMap());
+
+        // Act
+        dispatcher.send(email(7, MAX_ATTEMPTS));
+
+        // Assert
+        assertEquals(1, registry.get("email.outbox.dead").counter().count());
+        assertEquals(0, registry.get("email.outbox.retried").counter().count());
+    }
+
+    @Test
+    void backoffMs_DoublesAndCaps() {
+        assertEquals(30_000, EmailOutboxDispatcher.backoffMs(1, 30_000, 3_600_000));
+        assertEquals(60_000, EmailOutboxDispatcher.backoffMs(2, 30_000, 3_600_000));
+        assertEquals(240_000, EmailOutboxDispatcher.backoffMs(4, 30_000, 3_600_000));
+        assertEquals(3_600_000, EmailOutboxDispatcher.backoffMs(20, 30_000, 3_600_000));
+        assertEquals(3_600_000, EmailOutboxDispatcher.backoffMs(Integer.MAX_VALUE, 30_000, 3_600_000));
+    }
+
+    private static OutboxEmail email(long id, int attempts) {
+        return new OutboxEmail(id, "user" + id + "@example.com", "Welcome", "email/welcome",
+                Map.of("name", "User"), attempts);
+    }
+}
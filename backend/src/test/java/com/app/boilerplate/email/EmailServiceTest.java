@@ -0,0 +1,82 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailServiceTest {
+
+    private static final String HTML = "<p>Grüße, Zoë — welcome</p>";
+
+    @Test
+    void buildMessage_8bit_WritesBodyBytesUnchanged() throws Exception {
+        // Arrange
+        EmailService emailService = emailService("8bit");
+
+        // Act
+        MimeMessage message = emailService.buildMessage("user@example.com", "Welcome", HTML.getBytes(StandardCharsets.UTF_8));
+        String written = writeTo(message);
+
+        // Assert
+        assertTrue(written.contains("Content-Type: text/html; charset=UTF-8"));
+        assertTrue(written.contains("Content-Transfer-Encoding: 8bit"));
+        assertTrue(written.endsWith(HTML));
+        assertEquals("noreply@example.com", message.getFrom()[0].toString());
+    }
+
+    @Test
+    void buildMessage_QuotedPrintable_EncodesBody() throws Exception {
+        // Arrange
+        EmailService emailService = emailService("quoted-printable");
+
+        // Act
+        String written = writeTo(emailService.buildMessage("user@example.com", "Welcome", HTML.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertTrue(written.contains("Content-Transfer-Encoding: quoted-printable"));
+        assertTrue(written.contains("Gr=C3=BC=C3=9Fe"));
+    }
+
+    @Test
+    void sendHtml_TimesEachOutcomeOnRegisteredTimers() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JavaMailSender mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        doNothing().doNothing().doThrow(new MailSendException("refused")).when(mailSender).send(any(MimeMessage.class));
+        EmailService emailService = new EmailService(mailSender, null, registry, "", "noreply@example.com", "8bit");
+
+        // Act
+        emailService.sendHtml("user@example.com", "Hi", HTML);
+        emailService.sendHtml("user@example.com", "Hi", HTML);
+        assertThrows(MailSendException.class, () -> emailService.sendHtml("user@example.com", "Hi", HTML));
+
+        // Assert
+        assertEquals(2, registry.get("email.send").tag("template", "none").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("email.send").tag("template", "none").tag("outcome", "failure").timer().count());
+    }
+
+    private static EmailService emailService(String transferEncoding) {
+        return new EmailService(new JavaMailSenderImpl(), null, new SimpleMeterRegistry(),
+                "", "noreply@example.com", transferEncoding);
+    }
+
+    private static String writeTo(MimeMessage message) throws Exception {
+        message.saveChanges();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8).stripTrailing();
+    }
+}
@@ -0,0 +1,76 @@
+package com.app.boilerplate.email;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new EmailTemplateRenderer(templateEngine, 1);
+    }
+
+    @Test
+    void warmUp_CompilesEveryEmailTemplate() {
+        // Act
+        renderer.warmUp();
+
+        // Assert
+        assertTrue(renderer.isCompiled("email/welcome"));
+        assertTrue(renderer.isCompiled("email/password-reset"));
+        assertTrue(renderer.isCompiled("email/verify-email"));
+    }
+
+    @Test
+    void render_CompiledOutputMatchesThymeleaf() {
+        // Arrange
+        Map<String, Object> model = Map.of("name", "Zoë <script>&\"'", "appUrl", "https://example.com/?a=1&b=2");
+
+        // Act
+        String rendered = new String(renderer.render("email/welcome", model), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(thymeleaf("email/welcome", model), rendered);
+        assertTrue(rendered.contains("Zoë &lt;script&gt;&amp;"));
+        assertFalse(rendered.contains("<script>"));
+    }
+
+    @Test
+    void render_MissingVariableRendersEmpty() {
+        // Act
+        String rendered = new String(renderer.render("email/password-reset", Map.of("resetUrl", "https://example.com/r")),
+                StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(thymeleaf("email/password-reset", Map.of("resetUrl", "https://example.com/r")), rendered);
+    }
+
+    private String thymeleaf(String template, Map<String, Object> model) {
+        Map<String, Object> variables = new HashMap<>(model);
+        variables.put("year", Year.now().getValue());
+        return templateEngine.process(template, new Context(Locale.getDefault(), variables));
+    }
+}
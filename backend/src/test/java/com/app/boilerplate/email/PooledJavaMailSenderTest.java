@@ -0,0 +1,163 @@
+package com.app.boilerplate.email;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledJavaMailSenderTest {
+
+    private FakeSmtpServer server;
+    private PooledJavaMailSender pooled;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer(10);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pooled != null) {
+            pooled.close();
+        }
+        server.close();
+    }
+
+    @Test
+    void send_ReusesSessions_ThroughputAboveConnectionPerMessage() throws Exception {
+        // Arrange
+        JavaMailSenderImpl perMessage = configure(new JavaMailSenderImpl());
+        pooled = pooled(4, 100, 1_000, 60_000);
+
+        // Act
+        double perMessageRate = sendConcurrently(perMessage, 4, 25);
+        int perMessageConnections = server.connections();
+        double pooledRate = sendConcurrently(pooled, 4, 25);
+        int pooledConnections = server.connections() - perMessageConnections;
+
+        // Assert
+        assertEquals(200, server.messages());
+        assertEquals(100, perMessageConnections);
+        assertTrue(pooledConnections <= 4, "pooled connections: " + pooledConnections);
+        assertTrue(pooledRate > perMessageRate,
+                "pooled " + pooledRate + " msg/s vs connection per message " + perMessageRate + " msg/s");
+    }
+
+    @Test
+    void send_DeadIdleSessionFailsValidationAndIsReplaced() throws Exception {
+        // Arrange
+        pooled = pooled(1, 100, 0, 60_000);
+        pooled.send(message(pooled));
+        server.dropConnections();
+
+        // Act
+        pooled.send(message(pooled));
+
+        // Assert
+        assertEquals(2, server.connections());
+        assertEquals(2, server.messages());
+    }
+
+    @Test
+    void send_DeadSessionWithoutValidation_IsRetriedOnNewConnection() throws Exception {
+        // Arrange
+        pooled = pooled(1, 100, 60_000, 60_000);
+        pooled.send(message(pooled));
+        server.dropConnections();
+
+        // Act
+        pooled.send(message(pooled));
+
+        // Assert
+        assertEquals(2, server.connections());
+        assertEquals(2, server.messages());
+    }
+
+    @Test
+    void send_SessionClosedAfterMaxMessages() throws Exception {
+        // Arrange
+        pooled = pooled(1, 2, 1_000, 60_000);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            pooled.send(message(pooled));
+        }
+
+        // Assert
+        assertEquals(5, server.messages());
+        assertEquals(3, server.connections());
+    }
+
+    @Test
+    void evictIdle_ClosesSessionsPastIdleTimeout() throws Exception {
+        // Arrange
+        pooled = pooled(2, 100, 1_000, 0);
+        pooled.send(message(pooled));
+        assertEquals(1, pooled.idleSessions());
+
+        // Act
+        pooled.evictIdle();
+        pooled.send(message(pooled));
+
+        // Assert
+        assertEquals(2, server.connections());
+    }
+
+    private PooledJavaMailSender pooled(int maxSessions, int maxMessagesPerSession, long validateAfterIdleMs, long idleTimeoutMs) {
+        return configure(new PooledJavaMailSender(maxSessions, maxMessagesPerSession, 5_000,
+                validateAfterIdleMs, idleTimeoutMs, new SimpleMeterRegistry()));
+    }
+
+    private <T extends JavaMailSenderImpl> T configure(T sender) {
+        sender.setHost("127.0.0.1");
+        sender.setPort(server.port());
+        return sender;
+    }
+
+    /**
+     * @return messages per second
+     */
+    private static double sendConcurrently(JavaMailSenderImpl sender, int threads, int messagesPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < messagesPerThread; i++) {
+                        sender.send(message(sender));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return threads * messagesPerThread / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl sender) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        message.setFrom(new InternetAddress("noreply@example.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("user@example.com"));
+        message.setSubject("Verify Your Email");
+        message.setText("<p>Hello</p>", "UTF-8", "html");
+        return message;
+    }
+}
@@ -0,0 +1,91 @@
+package com.app.boilerplate.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCache(new SimpleMeterRegistry(), true, 10, 60_000);
+    }
+
+    @Test
+    void emailAndIdLookupsShareOneEntry() {
+        // Act
+        cache.findByEmail("a@example.com", email -> load(1L, email));
+        Optional<User> byId = cache.findById(1L, id -> load(id, "a@example.com"));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals("a@example.com", byId.orElseThrow().getEmail());
+        assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    void missesAreNotCached() {
+        // Act
+        cache.findByEmail("nobody@example.com", email -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.findByEmail("nobody@example.com", email -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateById_AlsoDropsEmailKey() {
+        // Arrange
+        cache.findByEmail("a@example.com", email -> load(1L, email));
+
+        // Act
+        cache.invalidate(1L, null);
+        cache.findByEmail("a@example.com", email -> load(1L, email));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void loadRacingWithInvalidation_IsNotCached() {
+        // Act: the write lands while the (stale) row is being loaded
+        cache.findByEmail("a@example.com", email -> {
+            cache.invalidate(1L, email);
+            return load(1L, email);
+        });
+        cache.findByEmail("a@example.com", email -> load(1L, email));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void full_EvictsToStayBounded() {
+        // Act
+        for (long id = 1; id <= 25; id++) {
+            long userId = id;
+            cache.findById(userId, key -> load(userId, "user" + userId + "@example.com"));
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 10);
+    }
+
+    private Optional<User> load(Long id, String email) {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        return Optional.of(user);
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.boilerplate.user;
+
+import com.app.boilerplate.common.util.AuditLogger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AuditLogger auditLogger;
+
+    @Test
+    void exportAll_WritesOneJsonObjectPerLineAndClosesStream() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        UserExportService service = new UserExportService(userRepository, entityManager, objectMapper, auditLogger);
+        AtomicBoolean closed = new AtomicBoolean();
+        Instant createdAt = Instant.parse("2026-01-02T03:04:05Z");
+        when(userRepository.streamAllForExport()).thenReturn(Stream.of(
+                        projection(1L, "Ann", "ann@example.com", createdAt),
+                        projection(2L, "Bob \"B\"", "bob@example.com", createdAt))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = service.exportAll(out, "42");
+
+        // Assert
+        assertEquals(2, count);
+        assertTrue(closed.get());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2, second.get("id").asLong());
+        assertEquals("Bob \"B\"", second.get("name").asText());
+        assertEquals("2026-01-02T03:04:05Z", second.get("createdAt").asText());
+        assertFalse(second.has("passwordHash"));
+        verify(auditLogger).log("USERS_EXPORTED", "42", Map.of("count", 2L));
+    }
+
+    private static UserProjection projection(Long id, String name, String email, Instant createdAt) {
+        return new UserProjection() {
+            public Long getId() {
+                return id;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public String getEmail() {
+                return email;
+            }
+
+            public Instant getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.boilerplate.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserImportParserTest {
+
+    @Test
+    void ndjson_ReadsRowsAndReportsBadLines() {
+        // Arrange
+        String body = """
+                {"name":"Ann","email":"ann@example.com","password":"password123"}
+
+                not json
+                {"name":"Bob","email":"bob@example.com","passwordHash":"$2a$12$abc"}
+                """;
+
+        // Act
+        List<UserImportRow> rows = drain(UserImportParser.ndjson(reader(body), new ObjectMapper()));
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("ann@example.com", rows.get(0).email());
+        assertEquals("password123", rows.get(0).password());
+        assertEquals(3, rows.get(1).line());
+        assertEquals("malformed JSON", rows.get(1).error());
+        assertEquals(4, rows.get(2).line());
+        assertEquals("$2a$12$abc", rows.get(2).passwordHash());
+    }
+
+    @Test
+    void csv_UsesHeaderOrderAndQuotedFields() {
+        // Arrange
+        String body = """
+                Email, Name ,password_hash
+                ann@example.com,"Smith, Ann",$2a$12$abc
+                bob@example.com,"Bob ""Bobby"" Jones",
+                carol@example.com,"unterminated
+                """;
+
+        // Act
+        List<UserImportRow> rows = drain(UserImportParser.csv(reader(body)));
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("Smith, Ann", rows.get(0).name());
+        assertEquals("$2a$12$abc", rows.get(0).passwordHash());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("Bob \"Bobby\" Jones", rows.get(1).name());
+        assertNull(rows.get(1).passwordHash());
+        assertEquals("unterminated quoted field", rows.get(2).error());
+    }
+
+    private static BufferedReader reader(String body) {
+        return new BufferedReader(new StringReader(body));
+    }
+
+    private static List<UserImportRow> drain(Iterator<UserImportRow> rows) {
+        List<UserImportRow> list = new ArrayList<>();
+        rows.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,131 @@
+package com.app.boilerplate.user;
+
+import com.app.boilerplate.auth.PasswordHashingExecutor;
+import com.app.boilerplate.common.util.AuditLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuuJ5b6V5jvC4d1ZJm1Z3uY7jS2l8dFh5W";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private AuditLogger auditLogger;
+
+    @Test
+    void reserveIds_FreshSequence_NeverBelowOne() {
+        // Arrange
+        UserImportService service = service();
+        freshSequence();
+
+        // Act
+        List<Long> ids = service.reserveIds(120);
+
+        // Assert
+        assertTrue(ids.size() >= 120);
+        assertTrue(ids.stream().allMatch(id -> id >= 1));
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void importUsers_EmptyTable_EveryRowGetsValidId() throws Exception {
+        // Arrange
+        UserImportService service = service();
+        freshSequence();
+        AtomicReference<Object[]> insertedIds = emptyTable();
+        List<UserImportRow> rows = new ArrayList<>();
+        for (int i = 1; i <= 120; i++) {
+            rows.add(new UserImportRow(i, "User " + i, "user" + i + "@example.com", null, HASH, null));
+        }
+
+        // Act
+        UserImportService.Summary summary = service.importUsers(rows.iterator(), result -> fail("rejected " + result), "1");
+
+        // Assert
+        assertEquals(new UserImportService.Summary(120, 120, 0, 0), summary);
+        Object[] ids = insertedIds.get();
+        assertEquals(120, ids.length);
+        assertTrue(Arrays.stream(ids).allMatch(id -> (Long) id >= 1));
+        assertEquals(120, new HashSet<>(Arrays.asList(ids)).size());
+    }
+
+    private UserImportService service() {
+        return new UserImportService(jdbcTemplate, passwordEncoder, passwordHashingExecutor, auditLogger, 1000);
+    }
+
+    /**
+     * users_id_seq right after V4: INCREMENT BY 50, first nextval is 1
+     */
+    private void freshSequence() {
+        AtomicLong last = new AtomicLong(1 - User.ID_ALLOCATION_SIZE);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object.class))).thenAnswer(invocation -> {
+            int count = invocation.getArgument(2);
+            return LongStream.range(0, count).mapToObj(i -> last.addAndGet(User.ID_ALLOCATION_SIZE)).toList();
+        });
+    }
+
+    /**
+     * The multi-row INSERT returns every id it was given
+     */
+    @SuppressWarnings("unchecked")
+    private AtomicReference<Object[]> emptyTable() throws Exception {
+        AtomicReference<Object[]> ids = new AtomicReference<>();
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(connection.createArrayOf(anyString(), any())).thenAnswer(invocation -> {
+            if ("bigint".equals(invocation.getArgument(0))) {
+                ids.set(invocation.getArgument(1));
+            }
+            return mock(Array.class);
+        });
+        when(statement.executeQuery()).thenReturn(resultSet);
+        AtomicReference<Iterator<Object>> returned = new AtomicReference<>();
+        when(resultSet.next()).thenAnswer(invocation -> {
+            if (returned.get() == null) {
+                returned.set(Arrays.asList(ids.get()).iterator());
+            }
+            return returned.get().hasNext();
+        });
+        when(resultSet.getLong(1)).thenAnswer(invocation -> (Long) returned.get().next());
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        return ids;
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.boilerplate.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserSearchRepositoryTest {
+
+    @Test
+    void cursor_RoundTripsWithMicrosecondPrecision() {
+        // Arrange
+        UserCursor cursor = new UserCursor(Instant.parse("2026-03-01T10:15:30.123456Z"), 42L);
+
+        // Act
+        UserCursor decoded = UserCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void cursor_RejectsTamperedValues() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> UserCursor.decode("!!!"));
+    }
+
+    @Test
+    void escapeLike_EscapesWildcards() {
+        // Act & Assert
+        assertEquals("a\\%b\\_c\\\\d", UserSearchRepository.escapeLike("a%b_c\\d"));
+    }
+}
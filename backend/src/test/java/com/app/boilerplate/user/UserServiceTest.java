@@ -1,13 +1,21 @@
 package com.app.boilerplate.user;
 
+import com.app.boilerplate.auth.PasswordHashingExecutor;
 import com.app.boilerplate.common.util.AuditLogger;
+import com.app.boilerplate.config.ReadYourWritesWindow;
+import com.app.boilerplate.email.EmailOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Optional;
 
@@ -28,6 +36,21 @@ class UserServiceTest {
     @Mock
     private AuditLogger auditLogger;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Mock
+    private EmailOutbox emailOutbox;
+
+    @Spy
+    private UserCache userCache = new UserCache(new SimpleMeterRegistry(), true, 100, 60_000);
+
+    @Spy
+    private ReadYourWritesWindow readYourWrites = new ReadYourWritesWindow(0);
+
+    @Mock
+    private TransactionOperations transactions;
+
     @InjectMocks
     private UserService userService;
 
@@ -35,6 +58,8 @@ class UserServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactions.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         testUser = new User();
         testUser.setId(1L);
         testUser.setName("Test User");
@@ -60,6 +85,56 @@ class UserServiceTest {
         verify(passwordEncoder).encode("password123");
         verify(userRepository).save(any(User.class));
         verify(auditLogger).logRegistration(anyString(), eq("test@example.com"));
+        verify(emailOutbox).enqueueWelcome("test@example.com", "Test User");
+    }
+
+    @Test
+    void createUser_HashesBeforeTransaction() {
+        // Arrange
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.createUser("Test User", "test@example.com", "password123");
+
+        // Assert
+        InOrder order = inOrder(passwordEncoder, transactions, userRepository, emailOutbox);
+        order.verify(passwordEncoder).encode("password123");
+        order.verify(transactions).execute(any());
+        order.verify(userRepository).save(any(User.class));
+        order.verify(emailOutbox).enqueueWelcome("test@example.com", "Test User");
+    }
+
+    @Test
+    void createUser_NormalizesEmail() {
+        // Arrange
+        when(userRepository.existsByEmail(anyString())).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User saved = invocation.getArgument(0);
+            saved.setId(2L);
+            return saved;
+        });
+
+        // Act
+        User result = userService.createUser("Test User", "  Test@Example.COM ", "password123");
+
+        // Assert
+        assertEquals("test@example.com", result.getEmail());
+        verify(userRepository).existsByEmail("test@example.com");
+    }
+
+    @Test
+    void findByEmail_LooksUpNormalizedEmail() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        Optional<User> result = userService.findByEmail("Test@Example.com");
+
+        // Assert
+        assertTrue(result.isPresent());
     }
 
     @Test
@@ -76,6 +151,7 @@ class UserServiceTest {
         assertEquals("Email already exists", exception.getMessage());
         verify(userRepository).existsByEmail("test@example.com");
         verify(userRepository, never()).save(any(User.class));
+        verify(emailOutbox, never()).enqueueWelcome(anyString(), anyString());
         verify(auditLogger).log(eq("USER_CREATION_DUPLICATE_EMAIL"), isNull(), anyMap());
     }
 
@@ -106,6 +182,67 @@ class UserServiceTest {
         verify(userRepository).findByEmail("notfound@example.com");
     }
 
+    @Test
+    void findByEmail_SecondLookupIsServedFromCacheAsCopy() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        User first = userService.findByEmail("test@example.com").orElseThrow();
+        first.setName("Mutated by caller");
+        User second = userService.findByEmail("test@example.com").orElseThrow();
+
+        // Assert
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        assertEquals("Test User", second.getName());
+        assertNotSame(testUser, second);
+    }
+
+    @Test
+    void findCredentials_UsesProjectionQuery() {
+        // Arrange
+        when(userRepository.findCredentialsByEmail("test@example.com"))
+                .thenReturn(Optional.of(new UserCredentials(1L, "test@example.com", "hashedPassword")));
+
+        // Act
+        UserCredentials credentials = userService.findCredentials(" Test@Example.com ").orElseThrow();
+
+        // Assert
+        assertEquals(1L, credentials.id());
+        assertEquals("hashedPassword", credentials.passwordHash());
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void findCredentials_CachedUser_StillReadsDatabase() {
+        // Arrange: another node changed the password after this node cached the user
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        userService.findByEmail("test@example.com");
+        when(userRepository.findCredentialsByEmail("test@example.com"))
+                .thenReturn(Optional.of(new UserCredentials(1L, "test@example.com", "newHash")));
+
+        // Act
+        UserCredentials credentials = userService.findCredentials("test@example.com").orElseThrow();
+
+        // Assert
+        assertEquals("newHash", credentials.passwordHash());
+    }
+
+    @Test
+    void updatePassword_InvalidatesCachedUser() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode(anyString())).thenReturn("newHashedPassword");
+        userService.findById(1L);
+
+        // Act
+        userService.updatePassword(testUser, "newPassword");
+        userService.findById(1L);
+
+        // Assert
+        verify(userRepository, times(2)).findById(1L);
+    }
+
     @Test
     void validatePassword_CorrectPassword() {
         // Arrange
@@ -132,6 +269,40 @@ class UserServiceTest {
         verify(passwordEncoder).matches("wrongpassword", "hashedPassword");
     }
 
+    @Test
+    void validatePassword_OutdatedHash_IsRehashedInBackground() {
+        // Arrange
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("upgradedHash");
+        when(passwordHashingExecutor.tryExecute(any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return true;
+        });
+        when(userRepository.replacePasswordHash(1L, "hashedPassword", "upgradedHash")).thenReturn(1);
+
+        // Act
+        boolean result = userService.validatePassword(testUser, "password123");
+
+        // Assert
+        assertTrue(result);
+        verify(userRepository).replacePasswordHash(1L, "hashedPassword", "upgradedHash");
+        verify(auditLogger).log(eq("PASSWORD_HASH_UPGRADED"), eq("1"));
+    }
+
+    @Test
+    void validatePassword_IncorrectPassword_NeverRehashes() {
+        // Arrange
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
+
+        // Act
+        userService.validatePassword(testUser, "wrongpassword");
+
+        // Assert
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+        verifyNoInteractions(passwordHashingExecutor);
+    }
+
     @Test
     void updatePassword_Success() {
         // Arrange